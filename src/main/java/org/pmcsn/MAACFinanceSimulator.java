@@ -2,8 +2,7 @@ package org.pmcsn;
 
 import java.util.Scanner;
 
-import org.pmcsn.configuration.ConfigurationManager;
-import org.pmcsn.controller.FiniteImprovedSimulationRunner;
+import org.pmcsn.configuration.GeneralConfiguration;
 import org.pmcsn.controller.FiniteSimulationRunner;
 import org.pmcsn.controller.ModelVerificationBatchMeans;
 import org.pmcsn.utils.FileUtils;
@@ -47,10 +46,9 @@ public class MAACFinanceSimulator {
 
         int simulationType = scanner.nextInt();
         scanner.nextLine();  // Consume newline
-        ConfigurationManager configurationManager = new ConfigurationManager();
-        boolean shouldTrackObservations = configurationManager.getBoolean("general", "shouldTrackObservations");
-        FiniteSimulationRunner basicRunner = new FiniteSimulationRunner();
-        FiniteImprovedSimulationRunner improvedRunner = new FiniteImprovedSimulationRunner();
+        boolean shouldTrackObservations = GeneralConfiguration.get().shouldTrackObservations;
+        FiniteSimulationRunner basicRunner = new FiniteSimulationRunner(false);
+        FiniteSimulationRunner improvedRunner = new FiniteSimulationRunner(true);
 
 
         switch (simulationType) {
@@ -64,7 +62,7 @@ public class MAACFinanceSimulator {
                 ModelVerificationBatchMeans.runModelVerificationWithBatchMeansMethod(); // Call BatchMeans main method
                 break;
             case 4:
-                improvedRunner.runImprovedModelSimulation(false, shouldTrackObservations, false);
+                improvedRunner.runFiniteSimulation(false, shouldTrackObservations, false);
                 break;
             case 5:
                 ModelVerificationBatchMeans.runModelWithBatchMeansMethodImproved();
@@ -73,7 +71,7 @@ public class MAACFinanceSimulator {
                 ModelVerificationBatchMeans.runModelVerificationWithBatchMeansMethodImproved();
                 break;
             case 7:
-                improvedRunner.runImprovedModelSimulation(false, shouldTrackObservations, true);
+                improvedRunner.runFiniteSimulation(false, shouldTrackObservations, true);
                 break;
             default:
                 printError("Invalid simulation type '" + simulationType + "'.");
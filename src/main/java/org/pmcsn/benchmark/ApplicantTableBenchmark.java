@@ -0,0 +1,104 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.configuration.CenterFactory;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.model.Applicant;
+import org.pmcsn.model.ApplicantTable;
+
+import java.lang.management.ManagementFactory;
+
+/*
+ * Bytes per in-flight applicant, and the cost of creating and checking one, for
+ * the object the events used to carry (reproduced below with its old fields) and
+ * for an ApplicantTable entry. IN_FLIGHT applicants are kept alive at once, each
+ * with the slot an event would hold it in: a reference before, an int id now.
+ */
+public class ApplicantTableBenchmark {
+    private static final int IN_FLIGHT = 1 << 20;
+
+    // the former Applicant layout
+    private static final class LegacyApplicant {
+        final RngStream stream;
+        final double entranceTime;
+        boolean haAnzianitaDiLavoro;
+        boolean isRapportoRataRedditoOk;
+        boolean haContrattoIndeterminato;
+        boolean haRichiesteORifiutiRecenti;
+        boolean haCorrispondenzaInBancaDati;
+
+        LegacyApplicant(RngStream stream, int flags, double entranceTime) {
+            this.stream = stream;
+            this.entranceTime = entranceTime;
+            this.haRichiesteORifiutiRecenti = (flags & 1) != 0;
+            this.haContrattoIndeterminato = (flags & 2) != 0;
+            this.haAnzianitaDiLavoro = (flags & 4) != 0;
+            this.isRapportoRataRedditoOk = (flags & 8) != 0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        RngStream stream = rngs.stream(0);
+        Applicant applicantModel = new CenterFactory(false).createApplicant();
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        LegacyApplicant[] objects = new LegacyApplicant[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            objects[i] = new LegacyApplicant(stream, applicantModel.draw(stream), i);
+        }
+        long objectBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        ApplicantTable table = new ApplicantTable(applicantModel);
+        int[] ids = new int[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            ids[i] = table.create(stream, i);
+        }
+        long tableBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        for (int id : ids) {
+            table.release(id);
+        }
+        // once grown, the table refills through its free list without allocating
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            ids[i] = table.create(stream, i);
+        }
+        long refillBytes = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("objects        %6.2f bytes/applicant%n", (double) objectBytes / IN_FLIGHT);
+        // the first fill also counts the arrays discarded while doubling
+        System.out.printf("table, growing %6.2f bytes/applicant allocated, %d retained (flags, entrance time, references, id)%n",
+                (double) tableBytes / IN_FLIGHT, Byte.BYTES + Double.BYTES + Integer.BYTES + Integer.BYTES);
+        System.out.printf("table, refill  %6.2f bytes/applicant (%d live)%n", (double) refillBytes / IN_FLIGHT, table.size());
+        for (int id : ids) {
+            table.release(id);
+        }
+
+        Benchmark.nanosPerOp("create, check and drop, objects", IN_FLIGHT, () -> {
+            double s = 0;
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                LegacyApplicant applicant = new LegacyApplicant(stream, applicantModel.draw(stream), i);
+                objects[i & 1023] = applicant;
+                if (applicant.haAnzianitaDiLavoro && applicant.isRapportoRataRedditoOk
+                        && applicant.haContrattoIndeterminato && !applicant.haRichiesteORifiutiRecenti) {
+                    s += applicant.entranceTime;
+                }
+            }
+            return s;
+        });
+        Benchmark.nanosPerOp("create, check and drop, table", IN_FLIGHT, () -> {
+            double s = 0;
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                int id = table.create(stream, i);
+                table.release(ids[i & 1023]);
+                ids[i & 1023] = id;
+                if (table.isAcceptedByPreScoring(id)) {
+                    s += table.getEntranceTime(id);
+                }
+            }
+            return s;
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.model.Area;
+import org.pmcsn.model.AreaAccumulator;
+import org.pmcsn.model.MsqServer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * Cost per event of the area integration for the five centers of the improved
+ * model. The legacy path is the one the runners used to follow, reproduced below:
+ * one setArea call per center through three center classes, each adding into its
+ * own Area object, the multi-server ones counting busy servers with a stream. The
+ * accumulator records a population change for one center per event and then, in
+ * EAGER mode, integrates all slots in one loop (ending with the same areas as the
+ * legacy path) or, in LAZY mode, only the slot that changed (the same areas up to
+ * rounding).
+ */
+public class AreaBenchmark {
+    private static final int EVENTS = 1 << 20;
+    private static final int CENTERS = 5;
+    private static final int SERVERS = 4;
+    private static final int[] CENTER = new int[EVENTS];
+    private static final long[] POPULATION = new long[EVENTS];
+    private static final double[] TIME = new double[EVENTS + 1];
+
+    static {
+        SplittableRandom random = new SplittableRandom(123456789L);
+        for (int i = 0; i < EVENTS; i++) {
+            CENTER[i] = random.nextInt(CENTERS);
+            POPULATION[i] = random.nextInt(12);
+            TIME[i + 1] = TIME[i] + random.nextDouble();
+        }
+    }
+
+    private interface LegacyCenter {
+        void setArea(double width);
+        void setPopulation(long jobs);
+        double nodeArea();
+    }
+
+    private static final class LegacyArea {
+        double nodeArea;
+        double queueArea;
+        double serviceArea;
+
+        void incNodeArea(double area) {
+            nodeArea += area;
+        }
+
+        void incQueueArea(double area) {
+            queueArea += area;
+        }
+
+        void incServiceArea(double area) {
+            serviceArea += area;
+        }
+    }
+
+    private static final class LegacySingle implements LegacyCenter {
+        final LegacyArea area = new LegacyArea();
+        long jobs;
+
+        public void setArea(double width) {
+            if (jobs > 0) {
+                area.incNodeArea(width * jobs);
+                area.incQueueArea(width * (jobs - 1));
+                area.incServiceArea(width);
+            }
+        }
+
+        public void setPopulation(long jobs) {
+            this.jobs = jobs;
+        }
+
+        public double nodeArea() {
+            return area.nodeArea;
+        }
+    }
+
+    private static final class LegacyMulti implements LegacyCenter {
+        final LegacyArea area = new LegacyArea();
+        final MsqServer[] servers = new MsqServer[SERVERS];
+        long jobs;
+
+        LegacyMulti() {
+            for (int i = 0; i < SERVERS; i++) {
+                servers[i] = new MsqServer();
+            }
+        }
+
+        public void setArea(double width) {
+            area.incNodeArea(width * jobs);
+            long busyServers = Arrays.stream(servers).filter(x -> x.running).count();
+            area.incQueueArea(width * (jobs - busyServers));
+            area.incServiceArea(width);
+        }
+
+        public void setPopulation(long jobs) {
+            this.jobs = jobs;
+            for (int i = 0; i < SERVERS; i++) {
+                servers[i].running = i < jobs;
+            }
+        }
+
+        public double nodeArea() {
+            return area.nodeArea;
+        }
+    }
+
+    private static final class LegacyInfinite implements LegacyCenter {
+        final LegacyArea area = new LegacyArea();
+        long jobs;
+
+        public void setArea(double width) {
+            if (jobs > 0) {
+                area.incNodeArea(width * jobs);
+                area.incServiceArea(width);
+            }
+        }
+
+        public void setPopulation(long jobs) {
+            this.jobs = jobs;
+        }
+
+        public double nodeArea() {
+            return area.nodeArea;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double legacy = Benchmark.nanosPerOp("legacy setArea per center", EVENTS, AreaBenchmark::legacy);
+        double reference = legacy();
+        for (AreaAccumulator.Type type : AreaAccumulator.Type.values()) {
+            double accumulator = Benchmark.nanosPerOp("AreaAccumulator, " + type, EVENTS, () -> accumulator(type));
+            System.out.printf("speedup per event: %.1fx, node areas relative difference %.1e%n",
+                    legacy / accumulator, Math.abs(accumulator(type) - reference) / reference);
+        }
+    }
+
+    // pre scoring, reparto istruttorie, scoring automatico, comitato credito, reparto liquidazioni
+    private static double legacy() {
+        LegacyCenter[] centers = {new LegacyMulti(), new LegacyMulti(), new LegacySingle(), new LegacyInfinite(), new LegacySingle()};
+        for (int i = 0; i < EVENTS; i++) {
+            for (LegacyCenter center : centers) {
+                center.setArea(TIME[i + 1] - TIME[i]);
+            }
+            centers[CENTER[i]].setPopulation(POPULATION[i]);
+        }
+        double s = 0;
+        for (LegacyCenter center : centers) {
+            s += center.nodeArea();
+        }
+        return s;
+    }
+
+    private static double accumulator(AreaAccumulator.Type type) {
+        AreaAccumulator areas = new AreaAccumulator(type);
+        Area[] slots = new Area[CENTERS];
+        for (int c = 0; c < CENTERS; c++) {
+            slots[c] = areas.register();
+        }
+        for (int i = 0; i < EVENTS; i++) {
+            areas.advance(TIME[i], TIME[i + 1]);
+            long jobs = POPULATION[i];
+            switch (CENTER[i]) {
+                case 0, 1 -> slots[CENTER[i]].setPopulation(jobs, jobs - Math.min(jobs, SERVERS), 1);
+                case 3 -> slots[3].setPopulation(jobs, 0, jobs > 0 ? 1 : 0);
+                default -> slots[CENTER[i]].setPopulation(jobs, jobs > 0 ? jobs - 1 : 0, jobs > 0 ? 1 : 0);
+            }
+        }
+        double s = 0;
+        for (Area slot : slots) {
+            s += slot.getNodeArea();
+        }
+        return s;
+    }
+}
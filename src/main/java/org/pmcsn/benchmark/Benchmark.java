@@ -0,0 +1,37 @@
+package org.pmcsn.benchmark;
+
+import java.util.Arrays;
+
+/*
+ * Minimal timing harness shared by the benchmarks in this package: runs a few
+ * warmup rounds so the JIT settles, then reports the median time per operation.
+ * Every body returns a checksum that is folded into a volatile sink so the JIT
+ * cannot drop the measured work.
+ */
+public class Benchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static volatile double sink;
+
+    public interface Body {
+        double run() throws Exception;
+    }
+
+    private Benchmark() {}
+
+    public static double nanosPerOp(String label, long opsPerRound, Body body) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += body.run();
+        }
+        double[] rounds = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += body.run();
+            rounds[i] = (double) (System.nanoTime() - start) / opsPerRound;
+        }
+        Arrays.sort(rounds);
+        double median = rounds[MEASURED_ROUNDS / 2];
+        System.out.printf("%-50s %10.2f ns/op%n", label, median);
+        return median;
+    }
+}
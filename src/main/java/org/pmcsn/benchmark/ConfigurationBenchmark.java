@@ -0,0 +1,68 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.configuration.CenterFactory;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.model.Applicant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.pmcsn.utils.Distributions.exponential;
+
+/*
+ * Cost of generating one external arrival (inter-arrival time plus the applicant's
+ * flags). The legacy path reloads config.properties from the classpath twice per
+ * arrival, once for interArrivalTime and once for applicantStreamIndex, as the
+ * centers and Applicant.create used to do; the snapshot path reads the values
+ * parsed once in GeneralConfiguration.
+ */
+public class ConfigurationBenchmark {
+    private static final int ARRIVALS = 20_000;
+    private static final int ARRIVAL_STREAM = 50;
+
+    public static void main(String[] args) throws Exception {
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        RngStream arrivals = rngs.stream(ARRIVAL_STREAM);
+        Applicant applicant = new CenterFactory(false).createApplicant();
+
+        double legacy = Benchmark.nanosPerOp("arrival, config reloaded per arrival", ARRIVALS, () -> {
+            double time = 0;
+            for (int i = 0; i < ARRIVALS; i++) {
+                time += exponential(Double.parseDouble(load().getProperty("general.interArrivalTime")), arrivals);
+                int streamIndex = Integer.parseInt(load().getProperty("general.applicantStreamIndex"));
+                if (Applicant.isAcceptedByPreScoring(applicant.draw(rngs.stream(streamIndex)))) {
+                    time += 1e-9;
+                }
+            }
+            return time;
+        });
+
+        GeneralConfiguration general = GeneralConfiguration.get();
+        RngStream applicants = rngs.stream(general.applicantStreamIndex);
+        double snapshot = Benchmark.nanosPerOp("arrival, configuration snapshot", ARRIVALS, () -> {
+            double time = 0;
+            for (int i = 0; i < ARRIVALS; i++) {
+                time += exponential(general.interArrivalTime, arrivals);
+                if (Applicant.isAcceptedByPreScoring(applicant.draw(applicants))) {
+                    time += 1e-9;
+                }
+            }
+            return time;
+        });
+
+        System.out.printf("speedup per arrival: %.1fx%n", legacy / snapshot);
+    }
+
+    // what every new ConfigurationManager() used to do
+    private static Properties load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = ConfigurationBenchmark.class.getClassLoader().getResourceAsStream("config.properties")) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
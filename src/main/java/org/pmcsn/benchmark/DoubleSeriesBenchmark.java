@@ -0,0 +1,64 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.model.DoubleSeries;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Java heap taken by a long series of observations, boxed in an ArrayList<Double>
+ * as Observations used to keep them, against the DoubleSeries storages, and the
+ * time to append one value.
+ */
+public class DoubleSeriesBenchmark {
+    private static final int VALUES = 4_000_000;
+
+    public static void main(String[] args) throws Exception {
+        long before = usedHeap();
+        List<Double> list = new ArrayList<>();
+        for (int i = 0; i < VALUES; i++) {
+            list.add(i * 0.5);
+        }
+        System.out.printf("%-20s %6.1f heap bytes/value%n", "ArrayList<Double>", (double) (usedHeap() - before) / VALUES);
+        Reference.reachabilityFence(list);
+        list = null;
+
+        for (DoubleSeries.Type type : DoubleSeries.Type.values()) {
+            before = usedHeap();
+            DoubleSeries series = DoubleSeries.create(type);
+            for (int i = 0; i < VALUES; i++) {
+                series.add(i * 0.5);
+            }
+            System.out.printf("%-20s %6.1f heap bytes/value%n", type, (double) (usedHeap() - before) / VALUES);
+            Reference.reachabilityFence(series);
+        }
+
+        Benchmark.nanosPerOp("ArrayList<Double>.add", VALUES, () -> {
+            List<Double> l = new ArrayList<>();
+            for (int i = 0; i < VALUES; i++) {
+                l.add(i * 0.5);
+            }
+            return l.size();
+        });
+        for (DoubleSeries.Type type : DoubleSeries.Type.values()) {
+            DoubleSeries series = DoubleSeries.create(type);
+            Benchmark.nanosPerOp("DoubleSeries.add, " + type, VALUES, () -> {
+                series.clear();
+                for (int i = 0; i < VALUES; i++) {
+                    series.add(i * 0.5);
+                }
+                return series.size();
+            });
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
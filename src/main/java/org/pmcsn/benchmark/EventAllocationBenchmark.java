@@ -0,0 +1,69 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.configuration.CenterFactory;
+import org.pmcsn.model.Applicant;
+import org.pmcsn.model.EventQueue;
+import org.pmcsn.model.EventType;
+import org.pmcsn.model.MsqEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/*
+ * Measures the bytes allocated per processed event by the event lifecycle the
+ * runners follow (pop, spawn the follow-up event, hand the processed one back),
+ * once allocating every event with new and once recycling through the queue's
+ * MsqEventPool. Allocation is read from the per-thread counter of the HotSpot
+ * ThreadMXBean, the same figure JFR's allocation events are based on.
+ */
+public class EventAllocationBenchmark {
+    private static final int PENDING = 1024;
+    private static final int EVENTS = 1 << 21;
+    private static final double[] DELAYS = new double[1 << 16];
+    // the events carry no applicant, the queue just needs a profile model
+    private static final Applicant APPLICANT = new CenterFactory(false).createApplicant();
+
+    static {
+        SplittableRandom random = new SplittableRandom(123456789L);
+        for (int i = 0; i < DELAYS.length; i++) {
+            DELAYS[i] = -Math.log(1.0 - random.nextDouble());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (boolean pooled : new boolean[]{false, true}) {
+            EventQueue queue = new EventQueue(APPLICANT);
+            for (int i = 0; i < PENDING; i++) {
+                queue.add(queue.newEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, DELAYS[i]));
+            }
+            // warmup: lets the JIT compile the loop and the pool reach its steady-state size
+            run(queue, pooled);
+            long before = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            double checksum = run(queue, pooled);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            System.out.printf("%-8s %8.3f bytes/event %8.2f ns/event (checksum %.1f)%n",
+                    pooled ? "pooled" : "new", (double) allocated / EVENTS, (double) elapsed / EVENTS, checksum);
+        }
+    }
+
+    private static double run(EventQueue queue, boolean pooled) throws Exception {
+        double last = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            MsqEvent event = queue.pop();
+            last = event.time;
+            double time = last + DELAYS[i & (DELAYS.length - 1)];
+            MsqEvent next = pooled
+                    ? queue.newEvent(EventType.COMPLETION_REPARTO_ISTRUTTORIE, time, time - last)
+                    : new MsqEvent(EventType.COMPLETION_REPARTO_ISTRUTTORIE, time, time - last);
+            next.applicant = event.applicant;
+            queue.add(next);
+            if (pooled) {
+                queue.recycle(event);
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,143 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.configuration.CenterFactory;
+import org.pmcsn.model.Applicant;
+import org.pmcsn.model.EventList;
+import org.pmcsn.model.EventQueue;
+import org.pmcsn.model.EventType;
+import org.pmcsn.model.MsqEvent;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/*
+ * Classic "hold" benchmark for the event list: the queue is pre-filled with N
+ * pending events, then every operation pops the most imminent one and schedules
+ * it again after an exponential delay, so the population stays at N.
+ * Compares the PriorityQueue based event list EventQueue used to have with the
+ * two EventList implementations (4-ary heap and calendar queue) and reports the
+ * smallest population at which the calendar queue beats the heap. Before timing
+ * anything, the calendar queue must give the same events as the heap over random
+ * mixed peek/add/poll sequences.
+ */
+public class EventQueueBenchmark {
+    private static final int OPS = 1 << 20;
+    private static final int CHECK_OPS = 200_000;
+    private static final int[] POPULATIONS = {16, 64, 256, 1024, 4096, 16384, 65536};
+    private static final double[] DELAYS = new double[1 << 16];
+    // the events carry no applicant, the queue just needs a profile model
+    private static final Applicant APPLICANT = new CenterFactory(false).createApplicant();
+
+    static {
+        SplittableRandom random = new SplittableRandom(123456789L);
+        for (int i = 0; i < DELAYS.length; i++) {
+            DELAYS[i] = -Math.log(1.0 - random.nextDouble());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        checkCalendarAgainstHeap();
+        int crossover = -1;
+        for (int n : POPULATIONS) {
+            Benchmark.nanosPerOp("PriorityQueue hold, N=" + n, OPS, () -> holdLegacy(n));
+            double heap = Benchmark.nanosPerOp("HEAP hold, N=" + n, OPS, () -> hold(EventList.Type.HEAP, n));
+            double calendar = Benchmark.nanosPerOp("CALENDAR hold, N=" + n, OPS, () -> hold(EventList.Type.CALENDAR, n));
+            if (crossover < 0 && calendar < heap) {
+                crossover = n;
+            }
+        }
+        if (crossover < 0) {
+            System.out.println("CALENDAR never beat HEAP up to N=" + POPULATIONS[POPULATIONS.length - 1]);
+        } else {
+            System.out.println("CALENDAR beats HEAP from N=" + crossover + " pending events");
+        }
+    }
+
+    private static void checkCalendarAgainstHeap() {
+        SplittableRandom random = new SplittableRandom(123456789L);
+        EventList calendar = EventList.create(EventList.Type.CALENDAR);
+        EventList heap = EventList.create(EventList.Type.HEAP);
+        double now = 0.0;
+        int mismatches = 0;
+        for (int i = 0; i < CHECK_OPS; i++) {
+            int op = random.nextInt(3);
+            if (op == 0 || heap.isEmpty()) {
+                // integer times too, so that ties are exercised
+                double t = now + (random.nextBoolean() ? random.nextInt(10) : 10 * random.nextDouble());
+                MsqEvent event = new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, t);
+                calendar.add(event);
+                heap.add(event);
+            } else if (op == 1) {
+                if (calendar.peek() != heap.peek()) {
+                    mismatches++;
+                }
+            } else {
+                MsqEvent expected = heap.poll();
+                if (calendar.poll() != expected) {
+                    mismatches++;
+                }
+                now = expected.time;
+            }
+        }
+        while (!heap.isEmpty()) {
+            if (calendar.poll() != heap.poll()) {
+                mismatches++;
+            }
+        }
+        if (mismatches > 0 || !calendar.isEmpty()) {
+            throw new IllegalStateException("CALENDAR disagrees with HEAP %d times in %d operations".formatted(mismatches, CHECK_OPS));
+        }
+        System.out.println("CALENDAR gives the same events as HEAP over " + CHECK_OPS + " mixed operations");
+    }
+
+    private static double hold(EventList.Type type, int n) throws Exception {
+        EventQueue queue = new EventQueue(type, APPLICANT);
+        for (int i = 0; i < n; i++) {
+            queue.add(new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, DELAYS[i & (DELAYS.length - 1)]));
+        }
+        double last = 0;
+        for (int i = 0; i < OPS; i++) {
+            MsqEvent event = queue.pop();
+            last = event.time;
+            event.time = last + DELAYS[i & (DELAYS.length - 1)];
+            queue.add(event);
+        }
+        return last;
+    }
+
+    private static double holdLegacy(int n) {
+        LegacyEventQueue queue = new LegacyEventQueue();
+        for (int i = 0; i < n; i++) {
+            queue.add(new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, DELAYS[i & (DELAYS.length - 1)]));
+        }
+        double last = 0;
+        for (int i = 0; i < OPS; i++) {
+            MsqEvent event = queue.pop();
+            last = event.time;
+            event.time = last + DELAYS[i & (DELAYS.length - 1)];
+            queue.add(event);
+        }
+        return last;
+    }
+
+    // the PriorityQueue based event list EventQueue used before EventHeap
+    private static class LegacyEventQueue {
+        private static final Comparator<MsqEvent> CMP = Comparator.comparingDouble(o -> o.time);
+        private final PriorityQueue<MsqEvent> priority = new PriorityQueue<>(CMP);
+        private final PriorityQueue<MsqEvent> noPriority = new PriorityQueue<>(CMP);
+
+        void add(MsqEvent event) {
+            noPriority.add(event);
+        }
+
+        MsqEvent pop() {
+            MsqEvent e1 = noPriority.peek();
+            MsqEvent e2 = priority.peek();
+            if (e2 == null || (e1 != null && e1.time <= e2.time)) {
+                return noPriority.poll();
+            }
+            return priority.poll();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.utils.InverseNormal;
+import org.pmcsn.utils.TruncatedLogNormalSampler;
+
+/*
+ * Accuracy and speed of the InverseNormal implementations. The error is the
+ * maximum absolute difference from NEWTON (the Rvms solver the simulations have
+ * always used), over a log-spaced sweep of both tails plus a uniform sweep of the
+ * body; the numbers quoted in InverseNormal come from this program. Speed is
+ * measured on the bare inverse and on a full truncated-lognormal service draw.
+ */
+public class InverseNormalBenchmark {
+    private static final int DRAWS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        InverseNormal newton = InverseNormal.create(InverseNormal.Type.NEWTON);
+        InverseNormal as241 = InverseNormal.create(InverseNormal.Type.AS241);
+        double[] sweep = sweep();
+        for (InverseNormal.Type type : InverseNormal.Type.values()) {
+            InverseNormal inverse = InverseNormal.create(type);
+            System.out.printf("%-7s max |error| vs NEWTON %.3e, vs AS241 %.3e%n",
+                    type, maxError(inverse, newton, sweep), maxError(inverse, as241, sweep));
+        }
+
+        double[] uniforms = new double[DRAWS];
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        for (int i = 0; i < DRAWS; i++) {
+            uniforms[i] = rngs.random();
+        }
+        for (InverseNormal.Type type : InverseNormal.Type.values()) {
+            InverseNormal inverse = InverseNormal.create(type);
+            Benchmark.nanosPerOp("idfStandard, " + type, DRAWS, () -> {
+                double s = 0;
+                for (double u : uniforms) {
+                    s += inverse.idfStandard(u);
+                }
+                return s;
+            });
+        }
+        RngStream stream = rngs.stream(0);
+        for (InverseNormal.Type type : InverseNormal.Type.values()) {
+            // reparto istruttorie service time
+            TruncatedLogNormalSampler sampler = new TruncatedLogNormalSampler(25, 3.16227766, 40, InverseNormal.create(type));
+            Benchmark.nanosPerOp("truncated lognormal draw, " + type, DRAWS, () -> {
+                double s = 0;
+                for (int i = 0; i < DRAWS; i++) {
+                    s += sampler.sample(stream);
+                }
+                return s;
+            });
+        }
+    }
+
+    private static double maxError(InverseNormal inverse, InverseNormal reference, double[] sweep) {
+        double maxError = 0;
+        for (double u : sweep) {
+            maxError = Math.max(maxError, Math.abs(inverse.idfStandard(u) - reference.idfStandard(u)));
+        }
+        return maxError;
+    }
+
+    private static double[] sweep() {
+        int tail = 2_000;
+        int body = 200_000;
+        double[] u = new double[2 * tail + body];
+        int k = 0;
+        for (int i = 0; i < tail; i++) {
+            // 1e-6 .. 1e-2, and the mirrored upper tail; further out NEWTON stops
+            // converging, since the 1e-10 accuracy of cdfStandard exceeds the tail mass
+            double p = Math.pow(10, -6 + 4.0 * i / tail);
+            u[k++] = p;
+            u[k++] = 1.0 - p;
+        }
+        for (int i = 1; i <= body; i++) {
+            u[k++] = 0.01 + 0.98 * i / (body + 1);
+        }
+        return u;
+    }
+}
@@ -0,0 +1,64 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.libraries.Substreams;
+import org.pmcsn.utils.ReplicationExecutor;
+
+/*
+ * Checks Rngs.jumpAhead against stepping the generator, and the directly computed
+ * replication seeds against the chain the runners used to walk, then times seeding
+ * the last of many replications both ways.
+ */
+public class JumpAheadBenchmark {
+    private static final long SEED = 123456789L;
+    private static final int STREAM_INDEX = 255;
+    private static final int REPLICATIONS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        Rngs rngs = new Rngs();
+        rngs.selectStream(0);
+        rngs.putSeed(SEED);
+        for (int steps = 1; steps <= 100_000; steps++) {
+            rngs.random();
+            if (rngs.getSeed() != Rngs.jumpAhead(SEED, steps)) {
+                throw new IllegalStateException("jumpAhead differs from random() after " + steps + " steps");
+            }
+        }
+        rngs.plantSeeds(SEED);
+        for (int j = 0; j < 256; j++) {
+            rngs.selectStream(j);
+            if (rngs.getSeed() != Rngs.jumpAhead(SEED, j * Rngs.SPACING)) {
+                throw new IllegalStateException("jumpAhead differs from plantSeeds on stream " + j);
+            }
+        }
+
+        long chained = SEED;
+        for (int k = 0; k < REPLICATIONS; k++) {
+            if (chained != ReplicationExecutor.replicationSeed(SEED, k, STREAM_INDEX)) {
+                throw new IllegalStateException("replication " + k + " seed differs from the chain");
+            }
+            rngs.plantSeeds(chained);
+            rngs.selectStream(STREAM_INDEX);
+            chained = rngs.getSeed();
+        }
+        System.out.println("jumpAhead matches random() and plantSeeds; replication seeds match the chain up to " + REPLICATIONS);
+
+        Substreams substreams = new Substreams(SEED, REPLICATIONS, 6, 2);
+        System.out.printf("%d replications x 6 centers x 2 purposes: %d draws per substream%n",
+                REPLICATIONS, substreams.length());
+
+        Benchmark.nanosPerOp("seed of replication " + (REPLICATIONS - 1) + ", chained", 1, () -> {
+            long s = SEED;
+            for (int k = 1; k < REPLICATIONS; k++) {
+                rngs.plantSeeds(s);
+                rngs.selectStream(STREAM_INDEX);
+                s = rngs.getSeed();
+            }
+            return s;
+        });
+        Benchmark.nanosPerOp("seed of replication " + (REPLICATIONS - 1) + ", jump-ahead", 1,
+                () -> ReplicationExecutor.replicationSeed(SEED, REPLICATIONS - 1, STREAM_INDEX));
+        Benchmark.nanosPerOp("substream (" + (REPLICATIONS - 1) + ", 5, 1)", 1,
+                () -> substreams.seed(REPLICATIONS - 1, 5, 1));
+    }
+}
@@ -0,0 +1,61 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.model.MetricAccumulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Cost of collecting one metric over many runs and querying its mean and standard
+ * deviation: a boxed List<Double> re-streamed at every query, as AbstractStatistics
+ * used to do, against MetricAccumulator with and without the values kept. Also
+ * checks that the accumulator mean is bit-identical to DoubleStream.average().
+ */
+public class MetricAccumulatorBenchmark {
+    private static final int VALUES = 1_000_000;
+    private static final int QUERIES = 100;
+
+    public static void main(String[] args) throws Exception {
+        double[] values = new double[VALUES];
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = 25 + rngs.random();
+        }
+
+        List<Double> list = new ArrayList<>();
+        MetricAccumulator accumulator = new MetricAccumulator(false);
+        for (double value : values) {
+            list.add(value);
+            accumulator.add(value);
+        }
+        double streamMean = list.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+        System.out.printf("mean identical to DoubleStream.average(): %b%n", streamMean == accumulator.getMean());
+
+        Benchmark.nanosPerOp("List<Double>, add + " + QUERIES + " queries", VALUES, () -> {
+            List<Double> l = new ArrayList<>();
+            for (double value : values) {
+                l.add(value);
+            }
+            double s = 0;
+            for (int q = 0; q < QUERIES; q++) {
+                s += l.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+            }
+            return s;
+        });
+        for (boolean keepValues : new boolean[] {true, false}) {
+            Benchmark.nanosPerOp("MetricAccumulator(" + keepValues + "), add + " + QUERIES + " queries", VALUES, () -> {
+                MetricAccumulator a = new MetricAccumulator(keepValues);
+                for (double value : values) {
+                    a.add(value);
+                }
+                double s = 0;
+                for (int q = 0; q < QUERIES; q++) {
+                    s += a.getMean() + a.getStandardDeviation();
+                }
+                return s;
+            });
+        }
+    }
+}
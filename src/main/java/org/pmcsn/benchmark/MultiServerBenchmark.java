@@ -0,0 +1,73 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.centers.RepartoIstruttorie_MAACFinance;
+import org.pmcsn.configuration.CenterFactory;
+import org.pmcsn.configuration.ConfigurationManager;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.model.Applicant;
+import org.pmcsn.model.AreaAccumulator;
+import org.pmcsn.model.EventQueue;
+import org.pmcsn.model.EventType;
+import org.pmcsn.model.MsqEvent;
+import org.pmcsn.model.MsqTime;
+
+import java.util.Properties;
+
+/*
+ * Cost per event of a multi-server center as the number of servers grows. The
+ * reparto istruttorie runs alone with exponential services at utilization 0.9;
+ * every event integrates the areas, and every arrival to an idle server picks the one
+ * idle longest, which is where the cost used to grow with the number of servers.
+ */
+public class MultiServerBenchmark {
+    private static final int EVENTS = 1 << 20;
+    private static final double MEAN_SERVICE_TIME = 25;
+    private static final double UTILIZATION = 0.9;
+
+    public static void main(String[] args) throws Exception {
+        for (int servers : new int[]{4, 16, 64, 256}) {
+            Properties overrides = new Properties();
+            overrides.setProperty("general.interArrivalTime", String.valueOf(MEAN_SERVICE_TIME / (servers * UTILIZATION)));
+            GeneralConfiguration general = new GeneralConfiguration(new ConfigurationManager(overrides));
+            AreaAccumulator areas = new AreaAccumulator();
+            RepartoIstruttorie_MAACFinance center = new RepartoIstruttorie_MAACFinance("REPARTO_ISTRUTTORIE", MEAN_SERVICE_TIME,
+                    1, 2 * MEAN_SERVICE_TIME, servers, 1, true, false, 1, 1, general, areas);
+            Applicant applicant = new CenterFactory(false, general).createApplicant();
+            Rngs rngs = new Rngs();
+            Benchmark.nanosPerOp("events, " + servers + " servers", EVENTS, () -> run(center, areas, applicant, rngs));
+        }
+    }
+
+    private static double run(RepartoIstruttorie_MAACFinance center, AreaAccumulator areas, Applicant applicant, Rngs rngs) throws Exception {
+        rngs.plantSeeds(123456789L);
+        EventQueue queue = new EventQueue(applicant);
+        MsqTime time = new MsqTime();
+        areas.start(0);
+        center.start(rngs, 0);
+        double first = center.getArrival();
+        MsqEvent arrival = queue.newEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, first);
+        arrival.applicant = queue.applicants.create(center.getApplicantStream(), first);
+        queue.add(arrival);
+        for (int i = 0; i < EVENTS; i++) {
+            MsqEvent event = queue.pop();
+            time.next = event.time;
+            areas.advance(time.current, time.next);
+            time.current = time.next;
+            switch (event.type) {
+                case ARRIVAL_REPARTO_ISTRUTTORIE:
+                    center.processArrival(event, time, queue);
+                    center.generateNextArrival(queue);
+                    break;
+                case COMPLETION_REPARTO_ISTRUTTORIE:
+                    center.processCompletion(event, time, queue);
+                    break;
+                default:
+                    // the job leaves for the scoring system, which is not simulated here
+                    break;
+            }
+            queue.recycle(event);
+        }
+        return time.current;
+    }
+}
@@ -0,0 +1,83 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rvms;
+
+/*
+ * Throughput of the RngEngine implementations through a stream handle, plus a small
+ * battery of statistical smoke tests in the spirit of TestU01's SmallCrush (which is a
+ * C library and not available here). Each test prints its p-value; values below 0.001
+ * or above 0.999 are flagged. This only catches gross defects (a broken step, a bad
+ * stream spacing), it is no substitute for running the real batteries.
+ */
+public class RngEngineBenchmark {
+    private static final int DRAWS = 1_000_000;
+    private static final int BINS = 1024;
+    private static final int CELLS = 64;
+    private static final Rvms RVMS = new Rvms();
+
+    public static void main(String[] args) throws Exception {
+        for (RngEngine.Type type : RngEngine.Type.values()) {
+            RngEngine engine = RngEngine.create(type);
+            engine.plantSeeds(123456789L);
+            System.out.println(type);
+            report("frequency, " + BINS + " bins", frequency(engine.stream(0)));
+            report("serial pairs, " + CELLS + "x" + CELLS + " cells", serialPairs(engine.stream(1)));
+            report("lag-1 autocorrelation", correlation(engine.stream(2), engine.stream(2)));
+            report("correlation of streams 3 and 4", correlation(engine.stream(3), engine.stream(4)));
+            RngStream stream = engine.stream(5);
+            Benchmark.nanosPerOp("  random() through a stream handle", DRAWS, () -> {
+                double s = 0;
+                for (int i = 0; i < DRAWS; i++) {
+                    s += stream.random();
+                }
+                return s;
+            });
+        }
+    }
+
+    private static void report(String test, double p) {
+        String flag = (p < 0.001 || p > 0.999) ? "  <-- suspicious" : "";
+        System.out.printf("  %-45s p = %.4f%s%n", test, p, flag);
+    }
+
+    // chi-square test of equidistribution
+    private static double frequency(RngStream stream) {
+        long[] counts = new long[BINS];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[(int) (stream.random() * BINS)]++;
+        }
+        return 1.0 - RVMS.cdfChiSquare(BINS - 1, chiSquare(counts, (double) DRAWS / BINS));
+    }
+
+    // chi-square test of non-overlapping pairs on a grid
+    private static double serialPairs(RngStream stream) {
+        long[] counts = new long[CELLS * CELLS];
+        for (int i = 0; i < DRAWS; i++) {
+            int x = (int) (stream.random() * CELLS);
+            int y = (int) (stream.random() * CELLS);
+            counts[x * CELLS + y]++;
+        }
+        return 1.0 - RVMS.cdfChiSquare(CELLS * CELLS - 1, chiSquare(counts, (double) DRAWS / (CELLS * CELLS)));
+    }
+
+    // two-sided test of zero correlation between x_i and y_i (x_i and x_(i+1) when a == b)
+    private static double correlation(RngStream a, RngStream b) {
+        double sum = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            sum += (a.random() - 0.5) * (b.random() - 0.5);
+        }
+        // each product has mean 0 and variance 1/144
+        double z = sum / Math.sqrt(DRAWS / 144.0);
+        return 2.0 * (1.0 - RVMS.cdfStandard(Math.abs(z)));
+    }
+
+    private static double chiSquare(long[] counts, double expected) {
+        double x = 0;
+        for (long count : counts) {
+            x += (count - expected) * (count - expected) / expected;
+        }
+        return x;
+    }
+}
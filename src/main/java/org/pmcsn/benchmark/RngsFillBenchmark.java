@@ -0,0 +1,72 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.Rngs;
+
+/*
+ * Rngs.fill against the one-at-a-time API. Before timing anything it checks that
+ * fill produces exactly the numbers random() would, for every stream and a range
+ * of lengths and offsets, and leaves each stream at the same state.
+ */
+public class RngsFillBenchmark {
+    private static final int BLOCK = 4096;
+    private static final int BLOCKS = 64;
+
+    public static void main(String[] args) throws Exception {
+        verify();
+
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        double[] block = new double[BLOCK];
+        long uniforms = (long) BLOCK * BLOCKS;
+        double single = Benchmark.nanosPerOp("selectStream + random()", uniforms, () -> {
+            double s = 0;
+            for (int b = 0; b < BLOCKS; b++) {
+                for (int i = 0; i < BLOCK; i++) {
+                    rngs.selectStream(b);
+                    s += rngs.random();
+                }
+            }
+            return s;
+        });
+        double filled = Benchmark.nanosPerOp("fill(stream, block)", uniforms, () -> {
+            double s = 0;
+            for (int b = 0; b < BLOCKS; b++) {
+                rngs.fill(b, block, 0, BLOCK);
+                s += block[BLOCK - 1];
+            }
+            return s;
+        });
+        System.out.printf("random(): %.1f M uniforms/s, fill: %.1f M uniforms/s (%.2fx)%n",
+                1e3 / single, 1e3 / filled, single / filled);
+    }
+
+    private static void verify() {
+        Rngs reference = new Rngs();
+        Rngs candidate = new Rngs();
+        reference.plantSeeds(987654321L);
+        candidate.plantSeeds(987654321L);
+        double[] out = new double[1100];
+        for (int len = 0; len <= 1000; len += 7) {
+            for (int stream = 0; stream < 256; stream += 17) {
+                int off = len % 13;
+                candidate.fill(stream, out, off, len);
+                reference.selectStream(stream);
+                for (int i = 0; i < len; i++) {
+                    double expected = reference.random();
+                    if (out[off + i] != expected) {
+                        throw new IllegalStateException("fill differs from random() on stream "
+                                + stream + " at " + i + ": " + out[off + i] + " != " + expected);
+                    }
+                }
+            }
+        }
+        for (int stream = 0; stream < 256; stream++) {
+            reference.selectStream(stream);
+            candidate.selectStream(stream);
+            if (reference.getSeed() != candidate.getSeed()) {
+                throw new IllegalStateException("stream " + stream + " state differs after fill");
+            }
+        }
+        System.out.println("fill matches random() on every checked stream, length and offset");
+    }
+}
@@ -0,0 +1,95 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.utils.RoutingTable;
+
+/*
+ * Correctness and speed of the RoutingTable implementations. For each table the
+ * empirical outcome frequencies over DRAWS uniforms are compared with the
+ * probabilities (largest deviation in standard errors), then the cost of one
+ * decision is timed on the comitato credito routes and on the 16-outcome
+ * applicant profile, where INVERSION needs four draws and ALIAS one.
+ */
+public class RoutingTableBenchmark {
+    private static final int DRAWS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        double[] comitato = {0.06, 0.65, 0.29};
+        double[] profile = profile(0.1, 0.75, 0.84989, 0.889);
+        double[] uniforms = new double[DRAWS];
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        for (int i = 0; i < DRAWS; i++) {
+            uniforms[i] = rngs.random();
+        }
+
+        for (RoutingTable.Type type : RoutingTable.Type.values()) {
+            System.out.printf("%-9s comitato max deviation %.2f sd, profile max deviation %.2f sd%n", type,
+                    maxDeviation(RoutingTable.create(type, comitato), comitato, uniforms),
+                    maxDeviation(RoutingTable.create(type, profile), profile, uniforms));
+        }
+        for (RoutingTable.Type type : RoutingTable.Type.values()) {
+            RoutingTable table = RoutingTable.create(type, comitato);
+            Benchmark.nanosPerOp("comitato route, " + type, DRAWS, () -> {
+                double s = 0;
+                for (double u : uniforms) {
+                    s += table.route(u);
+                }
+                return s;
+            });
+        }
+        RoutingTable[] checks = new RoutingTable[4];
+        double[] p = {0.1, 0.75, 0.84989, 0.889};
+        for (int k = 0; k < checks.length; k++) {
+            checks[k] = RoutingTable.create(RoutingTable.Type.INVERSION, p[k], 1 - p[k]);
+        }
+        Benchmark.nanosPerOp("applicant profile, INVERSION x4", DRAWS / 4, () -> {
+            double s = 0;
+            for (int i = 0; i < DRAWS; i += 4) {
+                int flags = 0;
+                for (int k = 0; k < 4; k++) {
+                    if (checks[k].route(uniforms[i + k]) == 0) {
+                        flags |= 1 << k;
+                    }
+                }
+                s += flags;
+            }
+            return s;
+        });
+        RoutingTable joint = RoutingTable.create(RoutingTable.Type.ALIAS, profile);
+        Benchmark.nanosPerOp("applicant profile, ALIAS", DRAWS / 4, () -> {
+            double s = 0;
+            for (int i = 0; i < DRAWS; i += 4) {
+                s += joint.route(uniforms[i]);
+            }
+            return s;
+        });
+    }
+
+    private static double[] profile(double... p) {
+        double[] joint = new double[1 << p.length];
+        for (int flags = 0; flags < joint.length; flags++) {
+            joint[flags] = 1;
+            for (int k = 0; k < p.length; k++) {
+                joint[flags] *= ((flags >> k) & 1) != 0 ? p[k] : 1 - p[k];
+            }
+        }
+        return joint;
+    }
+
+    private static double maxDeviation(RoutingTable table, double[] probabilities, double[] uniforms) {
+        long[] counts = new long[table.size()];
+        for (double u : uniforms) {
+            counts[table.route(u)]++;
+        }
+        double max = 0;
+        for (int i = 0; i < counts.length; i++) {
+            double expected = probabilities[i] * uniforms.length;
+            double sd = Math.sqrt(expected * (1 - probabilities[i]));
+            if (sd > 0) {
+                max = Math.max(max, Math.abs(counts[i] - expected) / sd);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,85 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.libraries.Rvgs;
+import org.pmcsn.libraries.Rvms;
+import org.pmcsn.utils.TruncatedLogNormalSampler;
+
+import java.util.Arrays;
+
+/*
+ * Checks that TruncatedLogNormalSampler reproduces, draw by draw, the values of the
+ * original per-call implementation (kept below as legacy()) for the service-time
+ * parameters of config.properties, then compares their throughput.
+ */
+public class TruncatedLogNormalBenchmark {
+    private static final int CHECKED_DRAWS = 1_000_000;
+    private static final int DRAWS = 50_000;
+    // mean, sigma, truncation point of the centers in config.properties
+    private static final double[][] PARAMETERS = {
+            {10, 1.414213562, 25},      // pre-scoring
+            {25, 3.16227766, 40},       // reparto istruttorie
+            {15, 2.2360679, 25},        // reparto istruttorie, improved
+            {480, 13.416407, 1440},     // comitato credito
+            {30, 3.872983, 60},         // reparto liquidazioni
+            {10, 2.236067, 20},         // reparto liquidazioni, digital signature
+    };
+
+    public static void main(String[] args) throws Exception {
+        for (double[] p : PARAMETERS) {
+            TruncatedLogNormalSampler sampler = new TruncatedLogNormalSampler(p[0], p[1], p[2]);
+            Rngs legacyRngs = new Rngs();
+            Rngs samplerRngs = new Rngs();
+            legacyRngs.plantSeeds(123456789L);
+            samplerRngs.plantSeeds(123456789L);
+            RngStream samplerStream = samplerRngs.stream(0);
+            double sum = 0;
+            for (int i = 0; i < CHECKED_DRAWS; i++) {
+                double expected = legacy(p[0], p[1], p[2], legacyRngs);
+                double actual = sampler.sample(samplerStream);
+                if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+                    throw new AssertionError("draw %d differs for %s: %s != %s".formatted(
+                            i, Arrays.toString(p), expected, actual));
+                }
+                sum += actual;
+            }
+            System.out.printf("mean=%s sigma=%s trunc=%s: %d identical draws, sample mean %.4f%n",
+                    p[0], p[1], p[2], CHECKED_DRAWS, sum / CHECKED_DRAWS);
+        }
+
+        double[] p = PARAMETERS[1];
+        Rngs rngs = new Rngs();
+        rngs.plantSeeds(123456789L);
+        double legacy = Benchmark.nanosPerOp("truncated lognormal, setup per draw", DRAWS, () -> {
+            double s = 0;
+            for (int i = 0; i < DRAWS; i++) {
+                s += legacy(p[0], p[1], p[2], rngs);
+            }
+            return s;
+        });
+        TruncatedLogNormalSampler sampler = new TruncatedLogNormalSampler(p[0], p[1], p[2]);
+        RngStream stream = rngs.stream(0);
+        double precomputed = Benchmark.nanosPerOp("truncated lognormal, precomputed sampler", DRAWS, () -> {
+            double s = 0;
+            for (int i = 0; i < DRAWS; i++) {
+                s += sampler.sample(stream);
+            }
+            return s;
+        });
+        System.out.printf("speedup per draw: %.2fx%n", legacy / precomputed);
+    }
+
+    // Distributions.truncatedLogNormal before the sampler was introduced
+    private static double legacy(double mu, double sigma, double truncationPoint, Rngs rngs) {
+        Rvms rvms = new Rvms();
+        Rvgs rvgs = new Rvgs(rngs);
+        double variance = sigma * sigma;
+        double b = Math.sqrt(Math.log(1 + (variance / (mu * mu))));
+        double a = Math.log(mu) - 0.5 * b * b;
+        double alpha = rvms.cdfLogNormal(a, b, 1e-20);
+        double beta = 1.0 - rvms.cdfLogNormal(a, b, truncationPoint);
+        double u = rvgs.uniform(alpha, 1.0 - beta);
+        return rvms.idfLogNormal(a, b, u);
+    }
+}
@@ -0,0 +1,84 @@
+package org.pmcsn.benchmark;
+
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.libraries.Rvms;
+import org.pmcsn.utils.Variates;
+
+/*
+ * Inversion against ziggurat exponential and normal variates. The goodness of fit is a
+ * chi-square test over 200 equiprobable bins (bin of x = floor(200 * cdf(x))) on a
+ * million variates, mean and variance are printed alongside; then the time per variate
+ * is measured on each RngEngine.
+ */
+public class ZigguratBenchmark {
+    private static final int DRAWS = 1_000_000;
+    private static final int BINS = 200;
+    private static final Rvms RVMS = new Rvms();
+
+    public static void main(String[] args) throws Exception {
+        for (Variates.Type type : Variates.Type.values()) {
+            Variates variates = Variates.create(type);
+            Rngs rngs = new Rngs();
+            rngs.plantSeeds(123456789L);
+            RngStream stream = rngs.stream(0);
+            long[] exponentialBins = new long[BINS];
+            long[] normalBins = new long[BINS];
+            double[] exponentialMoments = new double[2];
+            double[] normalMoments = new double[2];
+            for (int i = 0; i < DRAWS; i++) {
+                double e = variates.exponential(1.0, stream);
+                double z = variates.normal(0.0, 1.0, stream);
+                exponentialBins[bin(RVMS.cdfExponential(1.0, e))]++;
+                normalBins[bin(RVMS.cdfStandard(z))]++;
+                exponentialMoments[0] += e;
+                exponentialMoments[1] += e * e;
+                normalMoments[0] += z;
+                normalMoments[1] += z * z;
+            }
+            System.out.println(type);
+            report("exponential(1)", exponentialBins, exponentialMoments);
+            report("normal(0, 1)", normalBins, normalMoments);
+        }
+
+        for (RngEngine.Type engineType : RngEngine.Type.values()) {
+            RngEngine engine = RngEngine.create(engineType);
+            engine.plantSeeds(123456789L);
+            RngStream stream = engine.stream(0);
+            for (Variates.Type type : Variates.Type.values()) {
+                Variates variates = Variates.create(type);
+                Benchmark.nanosPerOp(engineType + " exponential, " + type, DRAWS, () -> {
+                    double s = 0;
+                    for (int i = 0; i < DRAWS; i++) {
+                        s += variates.exponential(80.0, stream);
+                    }
+                    return s;
+                });
+                Benchmark.nanosPerOp(engineType + " normal, " + type, DRAWS, () -> {
+                    double s = 0;
+                    for (int i = 0; i < DRAWS; i++) {
+                        s += variates.normal(0.0, 1.0, stream);
+                    }
+                    return s;
+                });
+            }
+        }
+    }
+
+    private static int bin(double p) {
+        return Math.min(BINS - 1, (int) (p * BINS));
+    }
+
+    private static void report(String label, long[] bins, double[] moments) {
+        double expected = (double) DRAWS / BINS;
+        double x = 0;
+        for (long count : bins) {
+            x += (count - expected) * (count - expected) / expected;
+        }
+        double mean = moments[0] / DRAWS;
+        double variance = moments[1] / DRAWS - mean * mean;
+        System.out.printf("  %-15s mean %.4f, variance %.4f, chi-square p = %.4f%n",
+                label, mean, variance, 1.0 - RVMS.cdfChiSquare(BINS - 1, x));
+    }
+}
@@ -0,0 +1,56 @@
+package org.pmcsn.centers;
+
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.model.*;
+
+import java.util.List;
+
+/*
+ * What the simulation engine needs from a service center, whatever its server
+ * layout (single, multi or infinite server). The engine only dispatches events
+ * to the center bound to their type and collects statistics through this view.
+ */
+public interface Center {
+    void processArrival(MsqEvent arrival, MsqTime time, EventQueue queue);
+
+    void processCompletion(MsqEvent completion, MsqTime time, EventQueue queue);
+
+    void reset(RngEngine rngs);
+
+    long getNumberOfJobsInNode();
+
+    long getTotalNumberOfJobsServed();
+
+    void stopWarmup(MsqTime time);
+
+    boolean isDone();
+
+    void saveStats();
+
+    void writeStats(String simulationType, long seed);
+
+    void writeBatchStats(String simulationType, long seed);
+
+    BasicStatistics getStatistics();
+
+    BatchStatistics getBatchStatistics();
+
+    MeanStatistics getMeanStatistics();
+
+    MeanStatistics getBatchMeanStatistics();
+
+    String getCenterName();
+
+    // the first of the two streams it draws from: service, then routing (arrivals for the entry center)
+    int getStreamIndex();
+
+    // one series per server for multi-server centers, a single one otherwise
+    List<Observations> createObservations();
+
+    void updateObservations(List<Observations> observations);
+
+    void writeObservations(String path, List<Observations> observations);
+
+    // releases the saved values, once they have been written or merged elsewhere
+    void close();
+}
@@ -1,9 +1,12 @@
 package org.pmcsn.centers;
 
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
 import org.pmcsn.model.*;
-
-import static org.pmcsn.utils.Distributions.*;
+import org.pmcsn.utils.InverseNormal;
+import org.pmcsn.utils.RoutingTable;
+import org.pmcsn.utils.TruncatedLogNormalSampler;
 
 public class ComitatoCredito_SANTANDER extends InfiniteServer {
     enum Route {
@@ -11,9 +14,12 @@ public class ComitatoCredito_SANTANDER extends InfiniteServer {
         ACCEPTED,
         REJECTED
     }
+    private static final Route[] ROUTES = Route.values();
     private final boolean isImprovedSimulation;
-    private final double sigma;
-    private final double truncationPoint;
+    private final TruncatedLogNormalSampler serviceSampler;
+    private final RoutingTable routes;
+    private final int applicantStreamIndex;
+    private RngStream applicantStream;
     public int feedbackCreated = 0;
 
     public ComitatoCredito_SANTANDER(
@@ -26,11 +32,24 @@ public class ComitatoCredito_SANTANDER extends InfiniteServer {
             boolean isBatch,
             int batchSize,
             int numBatches,
-            boolean isImprovedSimulation) {
-        super(centerName, meanServiceTime, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches);
-        this.sigma = sigma;
-        this.truncationPoint = truncationPoint;
+            boolean isImprovedSimulation,
+            double pFeedback,
+            double pAccept,
+            GeneralConfiguration general,
+            AreaAccumulator areas) {
+        super(centerName, meanServiceTime, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches, general, areas);
+        this.serviceSampler = new TruncatedLogNormalSampler(meanServiceTime, sigma, truncationPoint, InverseNormal.create(InverseNormal.Type.valueOf(general.inverseNormal)));
         this.isImprovedSimulation = isImprovedSimulation;
+        this.applicantStreamIndex = general.applicantStreamIndex;
+        // indexed like Route
+        this.routes = RoutingTable.create(RoutingTable.Type.valueOf(general.routing), pFeedback, pAccept, 1 - pFeedback - pAccept);
+    }
+
+    @Override
+    public void reset(RngEngine rngs) {
+        super.reset(rngs);
+        // feedback draws the returning applicant's profile here, as Applicant.create did
+        this.applicantStream = rngs.stream(applicantStreamIndex);
     }
 
     @Override
@@ -38,17 +57,17 @@ public class ComitatoCredito_SANTANDER extends InfiniteServer {
         MsqEvent event;
         switch (getNextRoute()) {
             case FEEDBACK:
-                event = new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, time.current);
+                event = queue.newEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, time.current);
                 if (isImprovedSimulation) {
-                    event.applicant = currEvent.applicant.improvedFeedback(rngs);
+                    event.applicant = queue.applicants.improvedFeedback(currEvent.applicant, applicantStream);
                 } else {
-                    event.applicant = currEvent.applicant.feedback(rngs);
+                    event.applicant = queue.applicants.feedback(currEvent.applicant, applicantStream);
                 }
                 queue.add(event);
                 break;
             case ACCEPTED:
-                event = new MsqEvent(EventType.ARRIVAL_REPARTO_LIQUIDAZIONI, time.current);
-                event.applicant = currEvent.applicant;
+                event = queue.newEvent(EventType.ARRIVAL_REPARTO_LIQUIDAZIONI, time.current);
+                event.applicant = queue.applicants.share(currEvent.applicant);
                 queue.add(event);
                 if (!isBatch || (!warmup && !isDone())) acceptedJobs++;
                 break;
@@ -58,32 +77,23 @@ public class ComitatoCredito_SANTANDER extends InfiniteServer {
     }
 
     private Route getNextRoute() {
-        rngs.selectStream(streamIndex + 1);
-        double x = rngs.random();
-        if (x < 0.06) {
-            return Route.FEEDBACK;
-        } else if (x >= 0.06 && x < 0.71) {
-            return Route.ACCEPTED;
-        } else {
-            return Route.REJECTED;
-        }
+        return ROUTES[routes.route(routingStream)];
     }
 
     @Override
     public void spawnCompletionEvent(MsqTime time, EventQueue queue, MsqEvent currEvent) {
         double service = getService(streamIndex);
-        MsqEvent event = new MsqEvent(EventType.COMPLETION_COMITATO_CREDITO, time.current + service, service);
-        event.applicant = currEvent.applicant;
+        MsqEvent event = queue.newEvent(EventType.COMPLETION_COMITATO_CREDITO, time.current + service, service);
+        event.applicant = queue.applicants.share(currEvent.applicant);
         queue.add(event);
     }
 
     protected double getService(int streamIndex) {
-        rngs.selectStream(streamIndex);
         double serviceTime;
         if(approximateServiceAsExponential){
-            serviceTime = exponential(meanServiceTime, rngs);
+            serviceTime = variates.exponential(meanServiceTime, serviceStream);
         } else {
-            serviceTime = truncatedLogNormal(meanServiceTime, sigma, truncationPoint, rngs);
+            serviceTime = serviceSampler.sample(serviceStream);
         }
         return serviceTime;
     }
@@ -0,0 +1,27 @@
+package org.pmcsn.centers;
+
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.model.EventQueue;
+
+/*
+ * The center external arrivals enter the network from. It owns the arrival
+ * process: the engine asks it for the first arrival time and, after every
+ * arrival it processes, lets it schedule the next one until the stop time.
+ */
+public interface EntryCenter extends Center {
+    void start(RngEngine rngs, double sarrival);
+
+    void setStop(double stop);
+
+    double getArrival();
+
+    void generateNextArrival(EventQueue queue);
+
+    boolean isEndOfArrivals();
+
+    // the profiles of the arriving applicants are drawn from it, once started
+    RngStream getApplicantStream();
+
+    int getApplicantStreamIndex();
+}
@@ -0,0 +1,84 @@
+package org.pmcsn.centers;
+
+import org.pmcsn.model.MsqServer;
+
+/*
+ * Binary min-heap of the idle servers of a MultiServer, ordered by the time each
+ * one went idle and then by index: the root is the server idle longest, the same
+ * choice (ties included) as scanning servers[] for the smallest lastCompletionTime.
+ * A server's key is set before it is added and left alone while it is idle.
+ */
+class IdleServers {
+    private final MsqServer[] servers;
+    private final int[] heap;
+    private int size = 0;
+
+    IdleServers(MsqServer[] servers) {
+        this.servers = servers;
+        this.heap = new int[servers.length];
+    }
+
+    // every server idle; with equal keys index order is already a valid heap
+    void reset() {
+        for (int i = 0; i < heap.length; i++) {
+            heap[i] = i;
+        }
+        size = heap.length;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    int poll() {
+        int top = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    void add(int server) {
+        siftUp(size++, server);
+    }
+
+    private void siftUp(int i, int server) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(server, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = server;
+    }
+
+    private void siftDown(int i, int server) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!before(heap[child], server)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = server;
+    }
+
+    private boolean before(int a, int b) {
+        double ta = servers[a].lastCompletionTime;
+        double tb = servers[b].lastCompletionTime;
+        return ta < tb || (ta == tb && a < b);
+    }
+}
@@ -1,15 +1,20 @@
 package org.pmcsn.centers;
 
 
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
 import org.pmcsn.model.*;
+import org.pmcsn.utils.IntDeque;
+import org.pmcsn.utils.PlotUtils;
+import org.pmcsn.utils.Variates;
 
 import java.util.*;
 
 import static org.pmcsn.model.MeanStatistics.computeMean;
 import static org.pmcsn.utils.PrintUtils.*;
 
-public abstract class MultiServer {
+public abstract class MultiServer implements Center {
     protected long numberOfJobsInNode = 0;
     protected long totalNumberOfJobsServed = 0;
     protected int SERVERS;
@@ -21,11 +26,15 @@ public abstract class MultiServer {
     protected double meanServiceTime;
     protected String centerName;
     protected boolean approximateServiceAsExponential;
-    protected Rngs rngs;
+    protected RngStream serviceStream;   // streamIndex
+    protected RngStream routingStream;   // streamIndex + 1: routing, or arrivals for the entry center
+    protected final Variates variates;
     protected int batchSize;
     private double currentBatchStartTime;
     protected MsqSum[] sum;
     protected MsqServer[] servers;
+    private final IdleServers idleServers;
+    private int busyServers = 0;
     protected BasicStatistics statistics;
     protected BatchStatistics batchStatistics;
     protected long jobServedPerBatch = 0;
@@ -33,10 +42,11 @@ public abstract class MultiServer {
     protected boolean isBatch;
     protected float acceptedJobs = 0 ;
     protected float totJobs = 0;
-    protected Deque<Applicant> info;
+    protected IntDeque info;
 
 
-    public MultiServer(String centerName, double meanServiceTime, int serversNumber, int streamIndex, boolean approximateServiceAsExponential, boolean isBatch, int batchSize, int numBatches) {
+    public MultiServer(String centerName, double meanServiceTime, int serversNumber, int streamIndex, boolean approximateServiceAsExponential, boolean isBatch, int batchSize, int numBatches, GeneralConfiguration general, AreaAccumulator areas) {
+        this.variates = Variates.create(Variates.Type.valueOf(general.variates));
         this.batchSize = batchSize;
         this.centerName = centerName;
         this.meanServiceTime = meanServiceTime;
@@ -44,14 +54,19 @@ public abstract class MultiServer {
         this.streamIndex = streamIndex;
         this.sum =  new MsqSum[SERVERS];
         this.servers = new MsqServer[SERVERS];
-        this.info = new ArrayDeque<>();
+        this.info = new IntDeque(ApplicantTable.NONE);
         for(int i=0; i<SERVERS ; i++){
             sum[i] = new MsqSum();
             servers[i] = new MsqServer();
         }
-        this.area = new Area();
+        this.idleServers = new IdleServers(servers);
+        idleServers.reset();
+        this.area = areas.register();
+        updatePopulation();
         this.statistics = new BasicStatistics(centerName);
-        this.batchStatistics = new BatchStatistics(centerName, numBatches);
+        this.batchStatistics = new BatchStatistics(centerName, numBatches, batchSize, general);
+        // LBATCH starts from its own batch size
+        this.batchSize = batchStatistics.getBatchSize();
         this.approximateServiceAsExponential = approximateServiceAsExponential;
         this.isBatch = isBatch;
     }
@@ -67,8 +82,9 @@ public abstract class MultiServer {
     }
 
     //********************************** CONCRETE METHODS *********************************************
-    public void reset(Rngs rngs) {
-        this.rngs = rngs;
+    public void reset(RngEngine rngs) {
+        this.serviceStream = rngs.stream(streamIndex);
+        this.routingStream = rngs.stream(streamIndex + 1);
         // resetting variables
         this.numberOfJobsInNode = 0;
         area.reset();
@@ -79,6 +95,9 @@ public abstract class MultiServer {
             sum[i].reset();
             servers[i].reset();
         }
+        idleServers.reset();
+        this.busyServers = 0;
+        updatePopulation();
         this.acceptedJobs = 0;
         this.totJobs = 0;
     }
@@ -106,12 +125,9 @@ public abstract class MultiServer {
         return numberOfJobsInNode;
     }
 
-    public void setArea(MsqTime time) {
-        double width = time.next - time.current;
-        area.incNodeArea(width * numberOfJobsInNode);
-        long busyServers = Arrays.stream(servers).filter(x -> x.running).count();
-        area.incQueueArea(width * (numberOfJobsInNode - busyServers));
-        area.incServiceArea(width);
+    // the runner's AreaAccumulator integrates these until the next change
+    private void updatePopulation() {
+        area.setPopulation(numberOfJobsInNode, numberOfJobsInNode - busyServers, 1);
     }
 
     public void processArrival(MsqEvent arrival, MsqTime time, EventQueue queue){
@@ -124,12 +140,14 @@ public abstract class MultiServer {
         }
         lastArrivalTime = arrival.time;
         if (numberOfJobsInNode <= SERVERS) {
-            int serverId = findOne();
+            int serverId = idleServers.poll();
             servers[serverId].running = true;
+            busyServers++;
             spawnCompletionEvent(time, queue, serverId, arrival);
         } else {
-            info.addFirst(arrival.applicant);
+            info.addFirst(queue.applicants.share(arrival.applicant));
         }
+        updatePopulation();
     }
 
     public void processCompletion(MsqEvent completion, MsqTime time, EventQueue queue) {
@@ -147,7 +165,7 @@ public abstract class MultiServer {
         if (!warmup && jobServedPerBatch == batchSize) {
             saveBatchStats(time);
         }
-        if (completion.applicant == null) {
+        if (completion.applicant == ApplicantTable.NONE) {
             completion.applicant = info.poll();
         }
         spawnNextCenterEvent(time, queue, completion);
@@ -156,24 +174,17 @@ public abstract class MultiServer {
         } else {
             servers[serverId].lastCompletionTime = completion.time;
             servers[serverId].running = false;
+            busyServers--;
+            idleServers.add(serverId);
         }
+        updatePopulation();
 
         if(!isBatch || (!warmup && !isDone())) totJobs++;
     }
 
+    // the server idle longest (lowest index among equals), SERVERS if all are busy
     public int findOne() {
-        int s;
-        int i = 0;
-        while (servers[i].running)       /* find the index of the first available */
-            i++;                        /* (idle) server                         */
-        s = i;
-        if (s == SERVERS) return s;
-        while (i < SERVERS-1) {         /* now, check the others to find which   */
-            i++;                        /* has been idle longest                 */
-            if (!servers[i].running && (servers[i].lastCompletionTime < servers[s].lastCompletionTime))
-                s = i;
-        }
-        return s;
+        return idleServers.isEmpty() ? SERVERS : idleServers.peek();
     }
 
     public void saveStats() {
@@ -187,8 +198,8 @@ public abstract class MultiServer {
 
     public void writeStats(String simulationType, long seed) {
         statistics.writeStats(simulationType, seed);
-        List<Double> prob = statistics.getProbAccept();
-        List<Double> totJobsList = statistics.getJobServed();
+        MetricAccumulator prob = statistics.getProbAccept();
+        MetricAccumulator totJobsList = statistics.getJobServed();
 
         // Compute the necessary values
         double avgAcceptanceRate = prob.isEmpty() ? 0 : computeMean(prob);
@@ -209,6 +220,7 @@ public abstract class MultiServer {
     public void saveBatchStats(MsqTime time) {
         // the number of jobs served cannot be 0 since the method is invoked in processCompletion()
         batchStatistics.saveStats(area, sum, lastArrivalTime, lastCompletionTime, true, currentBatchStartTime);
+        batchSize = batchStatistics.getBatchSize();
         resetBatch(time);
     }
 
@@ -216,12 +228,25 @@ public abstract class MultiServer {
         return batchStatistics.getMeanStatistics();
     }
 
+    public List<Observations> createObservations() {
+        List<Observations> observationsList = new ArrayList<>();
+        for (int i = 0; i < SERVERS; i++) {
+            observationsList.add(new Observations("%s_%d".formatted(centerName, i + 1)));
+        }
+        return observationsList;
+    }
+
     public void updateObservations(List<Observations> observationsList) {
         for (int i = 0; i < observationsList.size(); i++) {
             updateObservation(observationsList.get(i), i);
         }
     }
 
+    // the per-server series are averaged into a single file
+    public void writeObservations(String path, List<Observations> observationsList) {
+        PlotUtils.writeObservations(path, observationsList);
+    }
+
     private void updateObservation(Observations observations, int serverId) {
         long numberOfJobsServed = Arrays.stream(sum).mapToLong(x -> x.served).sum();
         if (lastArrivalTime < 0 || numberOfJobsServed == 0 || servers[serverId].lastCompletionTime == 0.0) {
@@ -235,10 +260,19 @@ public abstract class MultiServer {
         return batchStatistics.isBatchRetrievalDone();
     }
 
+    public void close() {
+        statistics.close();
+        batchStatistics.close();
+    }
+
     public String getCenterName() {
         return centerName;
     }
 
+    public int getStreamIndex() {
+        return streamIndex;
+    }
+
     public int getServersNumber() {
         return servers.length;
     }
@@ -0,0 +1,212 @@
+package org.pmcsn.centers;
+
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Declarative description of a queueing network: the entry center, the other
+ * centers in reporting order (the order of every statistics list and csv the
+ * runners produce) and, for each event type, the center that handles it. The
+ * handlers are kept in an array indexed by EventType.ordinal(), so dispatching an
+ * event is a single array load instead of a switch over the event types.
+ */
+public class Network {
+    public interface EventHandler {
+        void handle(MsqEvent event, MsqTime time, EventQueue queue);
+    }
+
+    private final EntryCenter entry;
+    private final EventType entryArrival;
+    private final List<Center> centers;
+    private final List<String> labels;
+    private final List<Center> observedCenters;
+    private final EventHandler[] handlers;
+    private final AreaAccumulator areas;
+    private final Applicant applicant;
+
+    private Network(Builder builder) {
+        this.entry = builder.entry;
+        this.entryArrival = builder.entryArrival;
+        this.centers = Collections.unmodifiableList(builder.centers);
+        this.labels = Collections.unmodifiableList(builder.labels);
+        this.observedCenters = Collections.unmodifiableList(builder.observedCenters);
+        this.handlers = builder.handlers;
+        this.areas = builder.areas;
+        this.applicant = builder.applicant;
+    }
+
+    public EntryCenter getEntry() {
+        return entry;
+    }
+
+    public EventType getEntryArrival() {
+        return entryArrival;
+    }
+
+    // in the order they were added to the builder
+    public List<Center> getCenters() {
+        return centers;
+    }
+
+    // printable name of the center at the same index of getCenters()
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public List<Center> getObservedCenters() {
+        return observedCenters;
+    }
+
+    public EventHandler[] getHandlers() {
+        return handlers;
+    }
+
+    // draws the profiles of the applicants entering the network
+    public Applicant getApplicant() {
+        return applicant;
+    }
+
+    public AreaAccumulator getAreas() {
+        return areas;
+    }
+
+    public <T extends Center> T find(Class<T> type) {
+        for (Center center : centers) {
+            if (type.isInstance(center)) {
+                return type.cast(center);
+            }
+        }
+        throw new IllegalArgumentException("No " + type.getSimpleName() + " in the network");
+    }
+
+    // the entry center is reset by EntryCenter.start()
+    public void resetCenters(RngEngine rngs) {
+        for (Center center : centers) {
+            if (center != entry) {
+                center.reset(rngs);
+            }
+        }
+    }
+
+    public void stopWarmup(MsqTime time) {
+        for (Center center : centers) {
+            center.stopWarmup(time);
+        }
+    }
+
+    public boolean isDone() {
+        for (Center center : centers) {
+            if (!center.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the first stream of every center, in reporting order, then the applicant stream
+    public int[] getStreamIndices() {
+        int[] streams = new int[centers.size() + 1];
+        for (int i = 0; i < centers.size(); i++) {
+            streams[i] = centers.get(i).getStreamIndex();
+        }
+        streams[centers.size()] = entry.getApplicantStreamIndex();
+        return streams;
+    }
+
+    public void close() {
+        centers.forEach(Center::close);
+    }
+
+    public long getMinimumNumberOfJobsServed() {
+        long min = Long.MAX_VALUE;
+        for (Center center : centers) {
+            min = Math.min(min, center.getTotalNumberOfJobsServed());
+        }
+        return min;
+    }
+
+    public long getNumberOfJobsInSystem() {
+        long number = 0;
+        for (Center center : centers) {
+            number += center.getNumberOfJobsInNode();
+        }
+        return number;
+    }
+
+    public static class Builder {
+        private final AreaAccumulator areas;
+        private final Applicant applicant;
+        private EntryCenter entry;
+        private EventType entryArrival;
+        private final List<Center> centers = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<Center> observedCenters = new ArrayList<>();
+        private final EventHandler[] handlers = new EventHandler[EventType.values().length];
+
+        public Builder(AreaAccumulator areas, Applicant applicant) {
+            this.areas = areas;
+            this.applicant = applicant;
+        }
+
+        // every arrival processed by the entry center schedules the next external one
+        public Builder entry(EntryCenter center, String label, EventType arrival, EventType completion) {
+            if (entry != null) {
+                throw new IllegalStateException("The network already has an entry center: " + entry.getCenterName());
+            }
+            entry = center;
+            entryArrival = arrival;
+            add(center, label, true);
+            bind(arrival, (event, time, queue) -> {
+                center.processArrival(event, time, queue);
+                center.generateNextArrival(queue);
+            });
+            bind(completion, center::processCompletion);
+            return this;
+        }
+
+        public Builder center(Center center, String label, EventType arrival, EventType completion) {
+            return center(center, label, arrival, completion, true);
+        }
+
+        // unobserved centers are left out of the sampled observations
+        public Builder center(Center center, String label, EventType arrival, EventType completion, boolean observed) {
+            add(center, label, observed);
+            bind(arrival, center::processArrival);
+            bind(completion, center::processCompletion);
+            return this;
+        }
+
+        public Network build() {
+            if (entry == null) {
+                throw new IllegalStateException("The network has no entry center");
+            }
+            for (EventType type : EventType.values()) {
+                if (handlers[type.ordinal()] == null) {
+                    handlers[type.ordinal()] = (event, time, queue) -> {
+                        throw new IllegalStateException("No center of the network handles " + type);
+                    };
+                }
+            }
+            return new Network(this);
+        }
+
+        private void add(Center center, String label, boolean observed) {
+            centers.add(center);
+            labels.add(label);
+            if (observed) {
+                observedCenters.add(center);
+            }
+        }
+
+        private void bind(EventType type, EventHandler handler) {
+            if (handlers[type.ordinal()] != null) {
+                throw new IllegalStateException(type + " is already handled by another center");
+            }
+            handlers[type.ordinal()] = handler;
+        }
+    }
+}
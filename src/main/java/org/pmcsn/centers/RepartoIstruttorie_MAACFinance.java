@@ -1,14 +1,17 @@
 package org.pmcsn.centers;
 
-import org.pmcsn.configuration.ConfigurationManager;
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
 import org.pmcsn.model.*;
+import org.pmcsn.utils.InverseNormal;
+import org.pmcsn.utils.TruncatedLogNormalSampler;
 
-import static org.pmcsn.utils.Distributions.*;
-
-public class RepartoIstruttorie_MAACFinance extends MultiServer {
-    private final double sigma;
-    private final double truncationPoint;
+public class RepartoIstruttorie_MAACFinance extends MultiServer implements EntryCenter {
+    private final TruncatedLogNormalSampler serviceSampler;
+    private final double interArrivalTime;
+    private final int applicantStreamIndex;
+    private RngStream applicantStream;
     private double sarrival;
     private double STOP = Double.POSITIVE_INFINITY;
     private boolean isEndOfArrivals = false;
@@ -25,21 +28,24 @@ public class RepartoIstruttorie_MAACFinance extends MultiServer {
             boolean approximateServiceAsExponential,
             boolean isBatch,
             int batchSize,
-            int numBatches) {
-        super(centerName, meanServiceTime, serversNumber, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches);
-        this.sigma = sigma;
-        this.truncationPoint = truncationPoint;
+            int numBatches,
+            GeneralConfiguration general,
+            AreaAccumulator areas) {
+        super(centerName, meanServiceTime, serversNumber, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches, general, areas);
+        this.serviceSampler = new TruncatedLogNormalSampler(meanServiceTime, sigma, truncationPoint, InverseNormal.create(InverseNormal.Type.valueOf(general.inverseNormal)));
+        this.interArrivalTime = general.interArrivalTime;
+        this.applicantStreamIndex = general.applicantStreamIndex;
     }
 
     @Override
     public void spawnNextCenterEvent(MsqTime time, EventQueue queue, MsqEvent currEvent) {
-        MsqEvent event = new MsqEvent(EventType.ARRIVAL_SCORING_AUTOMATICO, time.current);
-        event.applicant = currEvent.applicant;
+        MsqEvent event = queue.newEvent(EventType.ARRIVAL_SCORING_AUTOMATICO, time.current);
+        event.applicant = queue.applicants.share(currEvent.applicant);
         queue.add(event);
     }
 
-    public void start(Rngs rngs, double sarrival){
-        this.rngs = rngs;
+    public void start(RngEngine rngs, double sarrival){
+        this.applicantStream = rngs.stream(applicantStreamIndex);
         this.sarrival = sarrival;
         reset(rngs);
     }
@@ -48,29 +54,26 @@ public class RepartoIstruttorie_MAACFinance extends MultiServer {
     public void spawnCompletionEvent(MsqTime time, EventQueue queue, int serverId, MsqEvent currEvent) {
         double service = getService(streamIndex);
         //generate a new completion event
-        MsqEvent event = new MsqEvent(EventType.COMPLETION_REPARTO_ISTRUTTORIE, time.current + service, service, serverId);
+        MsqEvent event = queue.newEvent(EventType.COMPLETION_REPARTO_ISTRUTTORIE, time.current + service, service, serverId);
         if (currEvent.type == EventType.ARRIVAL_REPARTO_ISTRUTTORIE) {
-            event.applicant = currEvent.applicant;
+            event.applicant = queue.applicants.share(currEvent.applicant);
         }
         queue.add(event);
     }
 
     @Override
     double getService(int streamIndex) {
-        rngs.selectStream(streamIndex);
         double serviceTime;
         if(approximateServiceAsExponential){
-            serviceTime = exponential(meanServiceTime, rngs);
+            serviceTime = variates.exponential(meanServiceTime, serviceStream);
         } else {
-            serviceTime = truncatedLogNormal(meanServiceTime, sigma, truncationPoint, rngs);
+            serviceTime = serviceSampler.sample(serviceStream);
         }
         return serviceTime;
     }
 
     public double getArrival() {
-        ConfigurationManager config = new ConfigurationManager();
-        rngs.selectStream(streamIndex + 1);
-        sarrival += exponential(config.getDouble("general", "interArrivalTime"), rngs);
+        sarrival += variates.exponential(interArrivalTime, routingStream);
         return sarrival;
     }
 
@@ -79,8 +82,8 @@ public class RepartoIstruttorie_MAACFinance extends MultiServer {
         if (time > STOP) {
             isEndOfArrivals = true;
         } else {
-            MsqEvent event = new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, time);
-            event.applicant = Applicant.create(rngs, time);
+            MsqEvent event = queue.newEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, time);
+            event.applicant = queue.applicants.create(applicantStream, time);
             queue.add(event);
         }
     }
@@ -97,6 +100,14 @@ public class RepartoIstruttorie_MAACFinance extends MultiServer {
         this.STOP = stop;
     }
 
+    public RngStream getApplicantStream() {
+        return applicantStream;
+    }
+
+    public int getApplicantStreamIndex() {
+        return applicantStreamIndex;
+    }
+
     public boolean isEndOfArrivals() {
         return isEndOfArrivals;
     }
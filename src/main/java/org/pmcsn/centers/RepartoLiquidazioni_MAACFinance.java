@@ -1,15 +1,15 @@
 package org.pmcsn.centers;
 
+import org.pmcsn.configuration.GeneralConfiguration;
 import org.pmcsn.model.*;
+import org.pmcsn.utils.InverseNormal;
+import org.pmcsn.utils.TruncatedLogNormalSampler;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.pmcsn.utils.Distributions.*;
-
 public class RepartoLiquidazioni_MAACFinance extends SingleServer {
-    private final double sigma;
-    private final double truncationPoint;
+    private final TruncatedLogNormalSampler serviceSampler;
     private final List<Double> residenceTimes = new ArrayList<>();
 
     public RepartoLiquidazioni_MAACFinance(
@@ -21,23 +21,24 @@ public class RepartoLiquidazioni_MAACFinance extends SingleServer {
             boolean approximateServiceAsExponential,
             boolean isBatch,
             int batchSize,
-            int numBatches) {
-        super(centerName, meanServiceTime, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches);
-        this.sigma = sigma;
-        this.truncationPoint = truncationPoint;
+            int numBatches,
+            GeneralConfiguration general,
+            AreaAccumulator areas) {
+        super(centerName, meanServiceTime, streamIndex, approximateServiceAsExponential, isBatch, batchSize, numBatches, general, areas);
+        this.serviceSampler = new TruncatedLogNormalSampler(meanServiceTime, sigma, truncationPoint, InverseNormal.create(InverseNormal.Type.valueOf(general.inverseNormal)));
     }
 
     @Override
     public void spawnNextCenterEvent(MsqTime time, EventQueue queue, MsqEvent currEvent) {
-        residenceTimes.add(currEvent.getTime() - currEvent.applicant.getEntranceTime());
+        residenceTimes.add(currEvent.getTime() - queue.applicants.getEntranceTime(currEvent.applicant));
     }
 
     @Override
     public void spawnCompletionEvent(MsqTime time, EventQueue queue, MsqEvent currEvent) {
         double service = getService(streamIndex);
-        MsqEvent event = new MsqEvent(EventType.COMPLETION_REPARTO_LIQUIDAZIONI, time.current + service, service);
+        MsqEvent event = queue.newEvent(EventType.COMPLETION_REPARTO_LIQUIDAZIONI, time.current + service, service);
         if (currEvent.type == EventType.ARRIVAL_REPARTO_LIQUIDAZIONI) {
-            event.applicant = currEvent.applicant;
+            event.applicant = queue.applicants.share(currEvent.applicant);
         }
         queue.add(event);
     }
@@ -48,12 +49,11 @@ public class RepartoLiquidazioni_MAACFinance extends SingleServer {
 //    }
 
     protected double getService(int streamIndex) {
-        rngs.selectStream(streamIndex);
         double serviceTime;
         if(approximateServiceAsExponential){
-            serviceTime = exponential(meanServiceTime, rngs);
+            serviceTime = variates.exponential(meanServiceTime, serviceStream);
         } else {
-            serviceTime = truncatedLogNormal(meanServiceTime, sigma, truncationPoint, rngs);
+            serviceTime = serviceSampler.sample(serviceStream);
         }
         return serviceTime;
     }
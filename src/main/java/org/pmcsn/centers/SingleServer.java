@@ -1,16 +1,19 @@
 package org.pmcsn.centers;
 
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.RngStream;
 import org.pmcsn.model.*;
+import org.pmcsn.utils.IntDeque;
+import org.pmcsn.utils.PlotUtils;
+import org.pmcsn.utils.Variates;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 
 import static org.pmcsn.model.MeanStatistics.computeMean;
 import static org.pmcsn.utils.PrintUtils.*;
 
-public abstract class SingleServer {
+public abstract class SingleServer implements Center {
 
     /*  STATISTICS OF INTEREST :
      *  * Response times
@@ -25,7 +28,7 @@ public abstract class SingleServer {
     protected int streamIndex;
     protected BasicStatistics statistics;
     protected BatchStatistics batchStatistics;
-    protected final Area area = new Area();
+    protected final Area area;
     protected double meanServiceTime;
     protected long numberOfJobsInNode = 0;
     protected long totalNumberOfJobsServed = 0;
@@ -33,7 +36,9 @@ public abstract class SingleServer {
     protected double lastArrivalTime = 0;
     protected double lastCompletionTime = 0;
     protected String centerName;
-    protected Rngs rngs;
+    protected RngStream serviceStream;   // streamIndex
+    protected RngStream routingStream;   // streamIndex + 1: routing, or arrivals for the entry center
+    protected final Variates variates;
     protected MsqSum sum = new MsqSum();
     protected boolean approximateServiceAsExponential;
     protected int batchSize;
@@ -44,15 +49,19 @@ public abstract class SingleServer {
     protected float acceptedJobs = 0 ;
     protected float totJobs = 0;
     protected boolean isBatch;
-    protected Deque<Applicant> info = new ArrayDeque<>();
+    protected IntDeque info = new IntDeque(ApplicantTable.NONE);
 
-    public SingleServer(String centerName, double meanServiceTime, int streamIndex, boolean approximateServiceAsExponential, boolean isBatch, int batchSize, int numBatches) {
+    public SingleServer(String centerName, double meanServiceTime, int streamIndex, boolean approximateServiceAsExponential, boolean isBatch, int batchSize, int numBatches, GeneralConfiguration general, AreaAccumulator areas) {
+        this.variates = Variates.create(Variates.Type.valueOf(general.variates));
+        this.area = areas.register();
         this.batchSize = batchSize;
         this.centerName = centerName;
         this.meanServiceTime = meanServiceTime;
         this.streamIndex = streamIndex;
         this.statistics = new BasicStatistics(centerName);
-        this.batchStatistics = new BatchStatistics(centerName, numBatches);
+        this.batchStatistics = new BatchStatistics(centerName, numBatches, batchSize, general);
+        // LBATCH starts from its own batch size
+        this.batchSize = batchStatistics.getBatchSize();
         this.approximateServiceAsExponential = approximateServiceAsExponential;
         this.isBatch = isBatch;
     }
@@ -64,12 +73,14 @@ public abstract class SingleServer {
 
     //********************************** CONCRETE METHODS *********************************************
 
-    public void reset(Rngs rngs) {
-        this.rngs = rngs;
+    public void reset(RngEngine rngs) {
+        this.serviceStream = rngs.stream(streamIndex);
+        this.routingStream = rngs.stream(streamIndex + 1);
         area.reset();
         sum.reset();
         // resetting variables
         this.numberOfJobsInNode = 0;
+        updatePopulation();
         this.firstArrivalTime = Double.NEGATIVE_INFINITY;
         this.lastArrivalTime = 0;
         this.lastCompletionTime = 0;
@@ -85,18 +96,19 @@ public abstract class SingleServer {
         return totalNumberOfJobsServed;
     }
 
-    public void setArea(MsqTime time) {
+    // the runner's AreaAccumulator integrates these until the next change
+    private void updatePopulation() {
         if (numberOfJobsInNode > 0) {
-            double width = time.next - time.current;
-            area.incNodeArea(width * numberOfJobsInNode);
-            area.incQueueArea(width * (numberOfJobsInNode - 1));
-            area.incServiceArea(width);
+            area.setPopulation(numberOfJobsInNode, numberOfJobsInNode - 1, 1);
+        } else {
+            area.setPopulation(0, 0, 0);
         }
     }
 
     public void processArrival(MsqEvent arrival, MsqTime time, EventQueue queue){
         // increment the number of jobs in the node
         numberOfJobsInNode++;
+        updatePopulation();
 
         // Updating the first arrival time (we will use it in the statistics)
         if(firstArrivalTime == Double.NEGATIVE_INFINITY) {
@@ -107,12 +119,13 @@ public abstract class SingleServer {
         if (numberOfJobsInNode == 1) {
             spawnCompletionEvent(time, queue, arrival);
         } else {
-            info.addFirst(arrival.applicant);
+            info.addFirst(queue.applicants.share(arrival.applicant));
         }
     }
 
     public void processCompletion(MsqEvent completion, MsqTime time, EventQueue queue) {
         numberOfJobsInNode--;
+        updatePopulation();
 
         if(!isDone()){
             totalNumberOfJobsServed++;
@@ -127,7 +140,7 @@ public abstract class SingleServer {
         if (!warmup && jobServedPerBatch == batchSize ) {
             saveBatchStats(time);
         }
-        if (completion.applicant == null) {
+        if (completion.applicant == ApplicantTable.NONE) {
             completion.applicant = info.poll();
         }
         spawnNextCenterEvent(time, queue, completion);
@@ -160,8 +173,8 @@ public abstract class SingleServer {
 
     public void writeStats(String simulationType, long seed) {
         statistics.writeStats(simulationType, seed);
-        List<Double> prob = statistics.getProbAccept();
-        List<Double> totJobsList = statistics.getJobServed();
+        MetricAccumulator prob = statistics.getProbAccept();
+        MetricAccumulator totJobsList = statistics.getJobServed();
 
         // Compute the necessary values
         double avgAcceptanceRate = prob.isEmpty() ? 0 : computeMean(prob);
@@ -198,6 +211,7 @@ public abstract class SingleServer {
         MsqSum[] s = new MsqSum[1];
         s[0] = sum;
         batchStatistics.saveStats(area, s, lastArrivalTime, lastCompletionTime, false, currentBatchStartTime);
+        batchSize = batchStatistics.getBatchSize();
         resetBatch(time);
     }
 
@@ -219,6 +233,18 @@ public abstract class SingleServer {
         observations.saveObservation(meanResponseTime);
     }
 
+    public List<Observations> createObservations() {
+        return List.of(new Observations(centerName));
+    }
+
+    public void updateObservations(List<Observations> observationsList) {
+        updateObservations(observationsList.get(0));
+    }
+
+    public void writeObservations(String path, List<Observations> observationsList) {
+        PlotUtils.writeObservations(path, observationsList.get(0));
+    }
+
     public float getTotalNumberOfJobs() {
         return totJobs;
     }
@@ -227,10 +253,19 @@ public abstract class SingleServer {
         return acceptedJobs;
     }
 
+    public void close() {
+        statistics.close();
+        batchStatistics.close();
+    }
+
     public String getCenterName() {
         return centerName;
     }
 
+    public int getStreamIndex() {
+        return streamIndex;
+    }
+
     public double getBusyTime() {
         return sum.service;
     }
@@ -1,22 +1,36 @@
 package org.pmcsn.configuration;
 
 import org.pmcsn.centers.*;
+import org.pmcsn.model.Applicant;
+import org.pmcsn.model.AreaAccumulator;
+import org.pmcsn.utils.RoutingTable;
+
+import static org.pmcsn.model.EventType.*;
 
 public class CenterFactory {
     private final ConfigurationManager configurationManager = new ConfigurationManager();
-    private static int batchSize;
-    private static int numBatches;
+    private final int batchSize;
+    private final int numBatches;
     private final boolean isImprovedSimulation;
+    // handed to every center this factory creates
+    private final GeneralConfiguration general;
+    // shared by every center this factory creates
+    private final AreaAccumulator areas;
 
     public CenterFactory(boolean isImprovedSimulation) {
+        this(isImprovedSimulation, GeneralConfiguration.get());
+    }
+
+    public CenterFactory(boolean isImprovedSimulation, GeneralConfiguration general) {
         this.isImprovedSimulation = isImprovedSimulation;
-        ConfigurationManager config = new ConfigurationManager();
+        this.general = general;
+        this.areas = new AreaAccumulator(AreaAccumulator.Type.valueOf(general.areaIntegration));
         if (isImprovedSimulation) {
-            batchSize = config.getInt("general", "batchSizeImproved");
-            numBatches = config.getInt("general", "numBatchesImproved");
+            batchSize = general.batchSizeImproved;
+            numBatches = general.numBatchesImproved;
         }else{
-            batchSize = config.getInt("general", "batchSize");
-            numBatches = config.getInt("general", "numBatches");
+            batchSize = general.batchSize;
+            numBatches = general.numBatches;
         }
     }
 
@@ -47,7 +61,9 @@ public class CenterFactory {
                 approximateServiceAsExponential,
                 isBatch,
                 batchSize,
-                numBatches);
+                numBatches,
+                general,
+                areas);
     }
 
     public PreScoring_MAACFinance createPreScoring(boolean approximateServiceAsExponential, boolean isBatch) {
@@ -61,7 +77,9 @@ public class CenterFactory {
                 approximateServiceAsExponential,
                 isBatch,
                 batchSize,
-                numBatches);
+                numBatches,
+                general,
+                areas);
     }
 
     public SysScoringAutomatico_SANTANDER createSysScoringAutomatico(boolean approximateServiceAsExponential, boolean isBatch) {
@@ -73,7 +91,9 @@ public class CenterFactory {
                 isBatch,
                 isImprovedSimulation,
                 batchSize,
-                numBatches);
+                numBatches,
+                general,
+                areas);
     }
 
     public ComitatoCredito_SANTANDER createComitatoCredito(boolean approximateServiceAsExponential, boolean isBatch) {
@@ -87,7 +107,11 @@ public class CenterFactory {
                 isBatch,
                 batchSize,
                 numBatches,
-                isImprovedSimulation);
+                isImprovedSimulation,
+                configurationManager.getDouble("comitatoCreditoSANTANDER", "pFeedback"),
+                configurationManager.getDouble("comitatoCreditoSANTANDER", "pAccept"),
+                general,
+                areas);
     }
 
     public RepartoLiquidazioni_MAACFinance createRepartoLiquidazioni(boolean approximateServiceAsExponential,  boolean isDigitalSignature, boolean isBatch) {
@@ -113,6 +137,64 @@ public class CenterFactory {
                 approximateServiceAsExponential,
                 isBatch,
                 batchSize,
-                numBatches);
+                numBatches,
+                general,
+                areas);
+    }
+
+    // the centers in reporting order, with the event types each of them handles
+    public Network createNetwork(boolean approximateServiceAsExponential, boolean isDigitalSignature, boolean isBatch) {
+        Network.Builder builder = new Network.Builder(areas, createApplicant());
+        if (isImprovedSimulation) {
+            builder.entry(createPreScoring(approximateServiceAsExponential, isBatch), "PRE-SCORING",
+                    ARRIVAL_PRE_SCORING, COMPLETION_PRE_SCORING);
+            builder.center(createRepartoIstruttorie(approximateServiceAsExponential, isBatch), "REPARTO ISTRUTTORIE",
+                    ARRIVAL_REPARTO_ISTRUTTORIE, COMPLETION_REPARTO_ISTRUTTORIE);
+        } else {
+            builder.entry(createRepartoIstruttorie(approximateServiceAsExponential, isBatch), "REPARTO ISTRUTTORIE",
+                    ARRIVAL_REPARTO_ISTRUTTORIE, COMPLETION_REPARTO_ISTRUTTORIE);
+        }
+        // the improved batch simulation does not sample the scoring and committee observations
+        boolean observeScoring = !(isImprovedSimulation && isBatch);
+        return builder
+                .center(createSysScoringAutomatico(approximateServiceAsExponential, isBatch), "SISTEMA SCORING AUTOMATICO",
+                        ARRIVAL_SCORING_AUTOMATICO, COMPLETION_SCORING_AUTOMATICO, observeScoring)
+                .center(createComitatoCredito(approximateServiceAsExponential, isBatch), "COMITATO CREDITO",
+                        ARRIVAL_COMITATO_CREDITO, COMPLETION_COMITATO_CREDITO, observeScoring)
+                .center(createRepartoLiquidazioni(approximateServiceAsExponential, isDigitalSignature, isBatch), "REPARTO LIQUIDAZIONI",
+                        ARRIVAL_REPARTO_LIQUIDAZIONI, COMPLETION_REPARTO_LIQUIDAZIONI)
+                .build();
+    }
+
+    // the profile checks of the "applicant" section, drawn with the configured routing
+    public Applicant createApplicant() {
+        RoutingTable.Type type = RoutingTable.Type.valueOf(general.routing);
+        double[] p = new double[Applicant.CHECKS];
+        p[Applicant.RICHIESTE_O_RIFIUTI_RECENTI] = configurationManager.getDouble("applicant", "pRichiesteORifiutiRecenti"); // Problema più frequente
+        p[Applicant.CONTRATTO_INDETERMINATO] = configurationManager.getDouble("applicant", "pContrattoIndeterminato"); // Secondo problema più comune
+        p[Applicant.ANZIANITA_DI_LAVORO] = configurationManager.getDouble("applicant", "pAnzianitaDiLavoro"); // Problema meno comune
+        p[Applicant.RAPPORTO_RATA_REDDITO_OK] = configurationManager.getDouble("applicant", "pRapportoRataRedditoOk"); // Problema raro
+        RoutingTable[] checkTables = new RoutingTable[Applicant.CHECKS];
+        for (int k = 0; k < Applicant.CHECKS; k++) {
+            checkTables[k] = RoutingTable.create(type, p[k], 1 - p[k]);
+        }
+        // ALIAS draws the whole profile from one 16-outcome table
+        RoutingTable profileTable = null;
+        if (type == RoutingTable.Type.ALIAS) {
+            double[] joint = new double[1 << Applicant.CHECKS];
+            for (int flags = 0; flags < joint.length; flags++) {
+                joint[flags] = 1;
+                for (int k = 0; k < Applicant.CHECKS; k++) {
+                    joint[flags] *= ((flags >> k) & 1) != 0 ? p[k] : 1 - p[k];
+                }
+            }
+            profileTable = RoutingTable.create(type, joint);
+        }
+        double pC = configurationManager.getDouble("applicant", "pCorrispondenzaInBancaDati");
+        return new Applicant(checkTables, profileTable, RoutingTable.create(type, pC, 1 - pC));
+    }
+
+    public AreaAccumulator getAreas() {
+        return areas;
     }
 }
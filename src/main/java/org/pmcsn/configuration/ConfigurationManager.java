@@ -5,17 +5,34 @@ import java.io.InputStream;
 import java.util.Properties;
 
 public class ConfigurationManager {
-    private final Properties properties = new Properties();
+    private final Properties properties;
 
     public ConfigurationManager() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
-            if (input == null) {
-                throw new RuntimeException("Sorry, unable to find config.properties");
+        // config.properties is parsed once per process, every instance reads the same copy
+        this.properties = Holder.PROPERTIES;
+    }
+
+    // the keys in overrides replace those of config.properties, the others are read from it
+    public ConfigurationManager(Properties overrides) {
+        this.properties = new Properties(Holder.PROPERTIES);
+        this.properties.putAll(overrides);
+    }
+
+    private static final class Holder {
+        static final Properties PROPERTIES = load();
+
+        private static Properties load() {
+            Properties properties = new Properties();
+            try (InputStream input = ConfigurationManager.class.getClassLoader().getResourceAsStream("config.properties")) {
+                if (input == null) {
+                    throw new RuntimeException("Sorry, unable to find config.properties");
+                }
+                properties.load(input);
+            } catch (IOException e) {
+                e.printStackTrace();
+                throw new RuntimeException("Failed to load configuration file", e);
             }
-            properties.load(input);
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to load configuration file", e);
+            return properties;
         }
     }
 
@@ -0,0 +1,92 @@
+package org.pmcsn.configuration;
+
+/*
+ * Typed, immutable snapshot of the "general" section of config.properties, parsed
+ * once per process. Code on the simulation hot path reads these fields instead of
+ * looking keys up (and parsing them) on every event. The settings that select an
+ * implementation are kept by name and parsed by the code they select (with the
+ * valueOf of its Type enum), so that this package depends on none of it.
+ */
+public class GeneralConfiguration {
+    public final int seedStreamIndex;
+    public final double finiteSimObservationTime;
+    public final double finiteSimIntervalLength;
+    public final double warmupPercentage;
+    public final int batchSize;
+    public final int numBatches;
+    public final double warmupPercentageImproved;
+    public final int batchSizeImproved;
+    public final int numBatchesImproved;
+    public final String warmupDetection;
+    public final int mserMinBatches;
+    public final String batchSizing;
+    public final int initialBatchSize;
+    public final double acfThreshold;
+    public final int maxBatchSize;
+    public final double levelOfConfidence;
+    public final double interArrivalTime;
+    public final boolean shouldTrackObservations;
+    public final String seriesStorage;
+    public final int runsNumber;
+    public final String replicationStopping;
+    public final double relativePrecision;
+    public final double absolutePrecision;
+    public final int maxRunsNumber;
+    public final int minWave;
+    public final int replicationThreads;
+    public final int applicantStreamIndex;
+    public final String replicationSeeding;
+    public final String rngEngine;
+    public final String variates;
+    public final String routing;
+    public final int bmIntervalLength;
+    public final String eventList;
+    public final String areaIntegration;
+    public final String inverseNormal;
+
+    public GeneralConfiguration(ConfigurationManager config) {
+        seedStreamIndex = config.getInt("general", "seedStreamIndex");
+        finiteSimObservationTime = config.getDouble("general", "finiteSimObservationTime");
+        finiteSimIntervalLength = config.getDouble("general", "finiteSimIntervalLength");
+        warmupPercentage = config.getDouble("general", "warmupPercentage");
+        batchSize = config.getInt("general", "batchSize");
+        numBatches = config.getInt("general", "numBatches");
+        warmupPercentageImproved = config.getDouble("general", "warmupPercentageImproved");
+        batchSizeImproved = config.getInt("general", "batchSizeImproved");
+        numBatchesImproved = config.getInt("general", "numBatchesImproved");
+        warmupDetection = config.getString("general", "warmupDetection");
+        mserMinBatches = config.getInt("general", "mserMinBatches");
+        batchSizing = config.getString("general", "batchSizing");
+        initialBatchSize = config.getInt("general", "initialBatchSize");
+        acfThreshold = config.getDouble("general", "acfThreshold");
+        maxBatchSize = config.getInt("general", "maxBatchSize");
+        levelOfConfidence = config.getDouble("general", "levelOfConfidence");
+        interArrivalTime = config.getDouble("general", "interArrivalTime");
+        shouldTrackObservations = config.getBoolean("general", "shouldTrackObservations");
+        seriesStorage = config.getString("general", "seriesStorage");
+        runsNumber = config.getInt("general", "runsNumber");
+        replicationStopping = config.getString("general", "replicationStopping");
+        relativePrecision = config.getDouble("general", "relativePrecision");
+        absolutePrecision = config.getDouble("general", "absolutePrecision");
+        maxRunsNumber = config.getInt("general", "maxRunsNumber");
+        minWave = config.getInt("general", "minWave");
+        replicationThreads = config.getInt("general", "replicationThreads");
+        applicantStreamIndex = config.getInt("general", "applicantStreamIndex");
+        replicationSeeding = config.getString("general", "replicationSeeding");
+        rngEngine = config.getString("general", "rngEngine");
+        variates = config.getString("general", "variates");
+        routing = config.getString("general", "routing");
+        bmIntervalLength = config.getInt("general", "bmIntervalLength");
+        eventList = config.getString("general", "eventList");
+        areaIntegration = config.getString("general", "areaIntegration");
+        inverseNormal = config.getString("general", "inverseNormal");
+    }
+
+    private static final class Holder {
+        static final GeneralConfiguration INSTANCE = new GeneralConfiguration(new ConfigurationManager());
+    }
+
+    public static GeneralConfiguration get() {
+        return Holder.INSTANCE;
+    }
+}
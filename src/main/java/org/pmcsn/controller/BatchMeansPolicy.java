@@ -0,0 +1,62 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.Network;
+import org.pmcsn.model.EventQueue;
+import org.pmcsn.model.MsqTime;
+
+import static org.pmcsn.utils.PrintUtils.printSuccess;
+
+/*
+ * Steady-state runs with the batch means method: arrivals never stop, the warmup
+ * ends when the WarmupDetection says so and the run ends when every center has
+ * filled all of its batches. With deferWarmupEnd the centers
+ * restart their statistics at the time of the event following the one that
+ * completed the warmup (after its area contribution), as the basic model has
+ * always done; otherwise they restart right away.
+ */
+public class BatchMeansPolicy implements SimulationPolicy {
+    private final WarmupDetection warmup;
+    private final boolean deferWarmupEnd;
+    private boolean isWarmingUp = true;
+    private boolean stopWarmup = false;
+
+    public BatchMeansPolicy(WarmupDetection warmup, boolean deferWarmupEnd) {
+        this.warmup = warmup;
+        this.deferWarmupEnd = deferWarmupEnd;
+    }
+
+    public boolean isWarmingUp() {
+        return isWarmingUp;
+    }
+
+    @Override
+    public double getStop() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public boolean isDone(Network network, EventQueue queue) {
+        return network.isDone();
+    }
+
+    @Override
+    public void beforeEvent(Network network, MsqTime time) {
+        if (stopWarmup) {
+            network.stopWarmup(time);
+            stopWarmup = false;
+        }
+    }
+
+    @Override
+    public void afterEvent(Network network, MsqTime time) {
+        if (isWarmingUp && warmup.isOver(network)) {
+            printSuccess("WARMUP COMPLETED... Starting to collect statistics for centers from now on.");
+            isWarmingUp = false;
+            if (deferWarmupEnd) {
+                stopWarmup = true;
+            } else {
+                network.stopWarmup(time);
+            }
+        }
+    }
+}
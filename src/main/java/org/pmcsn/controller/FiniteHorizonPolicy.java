@@ -0,0 +1,27 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.Network;
+import org.pmcsn.model.EventQueue;
+
+/*
+ * Transient (finite-horizon) runs: arrivals stop at the observation time and the
+ * run ends once every job still in the network has left it.
+ */
+public class FiniteHorizonPolicy implements SimulationPolicy {
+    private final double stop;
+
+    public FiniteHorizonPolicy(double stop) {
+        this.stop = stop;
+    }
+
+    @Override
+    public double getStop() {
+        return stop;
+    }
+
+    @Override
+    public boolean isDone(Network network, EventQueue queue) {
+        // a job in a center always has its completion in the queue
+        return network.getEntry().isEndOfArrivals() && queue.isEmpty();
+    }
+}
@@ -1,13 +1,12 @@
 package org.pmcsn.controller;
 
 
-import org.pmcsn.centers.ComitatoCredito_SANTANDER;
-import org.pmcsn.centers.RepartoIstruttorie_MAACFinance;
+import org.pmcsn.centers.Center;
+import org.pmcsn.centers.Network;
 import org.pmcsn.centers.RepartoLiquidazioni_MAACFinance;
-import org.pmcsn.centers.SysScoringAutomatico_SANTANDER;
 import org.pmcsn.configuration.CenterFactory;
-import org.pmcsn.configuration.ConfigurationManager;
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
 import org.pmcsn.model.*;
 import org.pmcsn.utils.*;
 
@@ -15,34 +14,38 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.pmcsn.utils.AnalyticalComputation.computeAnalyticalResults;
+import static org.pmcsn.utils.AnalyticalComputation.computeAnalyticalResultsImproved;
 import static org.pmcsn.utils.Comparison.compareResults;
 import static org.pmcsn.utils.PrintUtils.BRIGHT_GREEN;
 import static org.pmcsn.utils.PrintUtils.printFinalResults;
 import static org.pmcsn.utils.Verification.verifyConfidenceIntervals;
 
 public class FiniteSimulationRunner {
-    private static final ConfigurationManager config = new ConfigurationManager();
+    private final GeneralConfiguration general = GeneralConfiguration.get();
     private final int start = 0;
-    private final double stop = config.getDouble("general", "finiteSimObservationTime"); // 8 hours
+    private final double stop = general.finiteSimObservationTime; // 8 hours
+    private final boolean isImprovedSimulation;
     private final long seed;
-    private final int rngStreamIndex = config.getInt("general", "seedStreamIndex");
-    private final int runsNumber = config.getInt("general", "runsNumber");
-
-    private RepartoIstruttorie_MAACFinance repartoIstruttorie;
-    private SysScoringAutomatico_SANTANDER scoringAutomatico;
-    private ComitatoCredito_SANTANDER comitatoCredito;
+    private final int runsNumber = general.runsNumber;
+    private final EventList.Type eventListType = EventList.Type.valueOf(general.eventList);
+    private final RngEngine.Type rngEngineType = RngEngine.Type.valueOf(general.rngEngine);
+    private final ReplicationSeeding.Type seedingType = ReplicationSeeding.Type.valueOf(general.replicationSeeding);
+    private final double samplingInterval = general.finiteSimIntervalLength;
+    private final int replicationThreads = ReplicationExecutor.resolveThreads(general.replicationThreads);
+
+    private Network network;
+    private SimulationEngine engine;
     private RepartoLiquidazioni_MAACFinance repartoLiquidazioni;
 
-    private List<Observations> repartoIstruttorieObservations;
-    private Observations scoringAutomaticoObservations;
-    private Observations comitatoCreditoObservations;
-    private Observations repartoLiquidazioniObservations;
+    // one entry per observed center of the network
+    private List<List<Observations>> observations;
 
-    public FiniteSimulationRunner() {
-        this(123456789L);
+    public FiniteSimulationRunner(boolean isImprovedSimulation) {
+        this(isImprovedSimulation, 123456789L);
     }
 
-    public FiniteSimulationRunner(long seed) {
+    public FiniteSimulationRunner(boolean isImprovedSimulation, long seed) {
+        this.isImprovedSimulation = isImprovedSimulation;
         this.seed = seed;
     }
 
@@ -55,85 +58,63 @@ public class FiniteSimulationRunner {
         String simulationType = getSimulationType(approximateServiceAsExponential, withDigitalSignature);
         System.out.println("\nRUNNING " + simulationType + "...");
 
-        //Rng setting the seed
-        long[] seeds = new long[1024];
-        seeds[0] = seed;
-        Rngs rngs = new Rngs();
+        // replications are added in waves until the stopping rule is satisfied
+        ReplicationStopping stopping = ReplicationStopping.create(
+                ReplicationStopping.Type.valueOf(general.replicationStopping), runsNumber, general.relativePrecision, general.absolutePrecision, general.maxRunsNumber, general.minWave);
+
+        // any replication can be seeded on its own, whichever worker runs it
+        ReplicationSeeding seeding = ReplicationSeeding.create(seedingType, seed, stopping.getMaxRuns(), rngEngineType, network.getStreamIndices(), general);
 
         String observationsPath = "csvFiles/%s/%d/observations".formatted(simulationType, seed);
         if (shouldTrackObservations) {
-            initObservations(observationsPath);
+            FileUtils.deleteDirectory(observationsPath);
+            initObservations();
         }
 
-        for (int i = 0; i < runsNumber; i++) {
-            long number = 1;
-
-            rngs.plantSeeds(seeds[i]);
-
-            //Msq initialization
-            MsqTime msqTime = new MsqTime();
-            msqTime.current = start;
-            EventQueue queue;
-            if (shouldTrackObservations) {
-                queue = new FiniteSimulationEventQueue();
+        RngEngine rngs = RngEngine.create(rngEngineType);
+        SamplingClock clock = createSamplingClock(shouldTrackObservations);
+        int runs = 0;
+        for (int wave = stopping.nextWave(runs, getAllStatistics()); wave > 0; wave = stopping.nextWave(runs, getAllStatistics())) {
+            if (replicationThreads == 1) {
+                for (int i = runs; i < runs + wave; i++) {
+                    runReplication(rngs, seeding, i, clock);
+
+                    // Writing observations for current run
+                    if (shouldTrackObservations) {
+                        writeObservations(observationsPath);
+                        resetObservations();
+                    }
+
+                    // Saving statistics for current run
+                    saveAllStats();
+                }
             } else {
-                queue = new EventQueue();
-            }
-
-            // Initialize LuggageChecks
-            repartoIstruttorie.start(rngs, start);
-            repartoIstruttorie.setStop(stop);
-
-            //generating first arrival
-            double time = repartoIstruttorie.getArrival();
-            MsqEvent firstEvent = new MsqEvent(EventType.ARRIVAL_REPARTO_ISTRUTTORIE, time);
-            firstEvent.applicant = Applicant.create(rngs, time);
-            queue.add(firstEvent);
-
-            // Initialize and reset other centers
-            resetCenters(rngs);
-
-            MsqEvent event;
-            // need to use OR because all the conditions should be false
-            while (!repartoIstruttorie.isEndOfArrivals() || !queue.isEmpty() || number != 0) {
-                // Retrieving next event to be processed
-                event = queue.pop();
-                if (event.type == EventType.SAVE_STAT) {
-                    repartoIstruttorie.updateObservations(repartoIstruttorieObservations);
-                    scoringAutomatico.updateObservations(scoringAutomaticoObservations);
-                    comitatoCredito.updateObservations(comitatoCreditoObservations);
-                    repartoLiquidazioni.updateObservations(repartoLiquidazioniObservations);
-                    continue;
+                int first = runs;
+                // each replication runs on its own copy of the centers
+                List<FiniteSimulationRunner> replicas = ReplicationExecutor.run(wave, replicationThreads, i -> {
+                    FiniteSimulationRunner replica = new FiniteSimulationRunner(isImprovedSimulation, seed);
+                    replica.initCenters(approximateServiceAsExponential, withDigitalSignature);
+                    if (shouldTrackObservations) {
+                        replica.initObservations();
+                    }
+                    replica.runReplication(RngEngine.create(rngEngineType), seeding, first + i, replica.createSamplingClock(shouldTrackObservations));
+                    replica.saveAllStats();
+                    return replica;
+                });
+                // merging in replication order gives the same files as the sequential loop
+                for (FiniteSimulationRunner replica : replicas) {
+                    if (shouldTrackObservations) {
+                        replica.writeObservations(observationsPath);
+                    }
+                    appendStats(replica);
+                    replica.close();
                 }
-                msqTime.next = event.time;
-
-                // Updating areas
-                updateAreas(msqTime);
-
-                // Advancing the clock
-                msqTime.current = msqTime.next;
-
-                // Processing the event based on its type
-                processCurrentEvent(event, msqTime, queue);
-
-                number = getTotalNumberOfJobsInSystem();
             }
-
-            // Writing observations for current run
-            if (shouldTrackObservations) {
-                writeObservations(observationsPath);
-                resetObservations();
-            }
-
-            // Saving statistics for current run
-            saveAllStats();
-
-            // Generating next seed
-            rngs.selectStream(rngStreamIndex);
-            seeds[i + 1] = rngs.getSeed();
+            runs += wave;
         }
 
-        System.out.println(simulationType + " HAS JUST FINISHED");
+        System.out.println(simulationType + " HAS JUST FINISHED.");
+        System.out.println("Replications run: " + stopping.describe(runs, getAllStatistics()));
 
         if (shouldTrackObservations) {
             PlotUtils.welchPlot(observationsPath);
@@ -157,6 +138,9 @@ public class FiniteSimulationRunner {
         } else {
             s = "FINITE_SIMULATION";
         }
+        if (isImprovedSimulation) {
+            s = "IMPROVED_" + s;
+        }
         if (withDigitalSignature) {
             return s + "_DIGITAL_SIGNATURE";
         }
@@ -164,58 +148,58 @@ public class FiniteSimulationRunner {
     }
 
     private void initCenters(boolean approximateServiceAsExponential,  boolean isDigitalSignature) {
-        CenterFactory factory = new CenterFactory(false);
-        repartoIstruttorie = factory.createRepartoIstruttorie(approximateServiceAsExponential, false);
-        scoringAutomatico = factory.createSysScoringAutomatico(approximateServiceAsExponential, false);
-        comitatoCredito = factory.createComitatoCredito(approximateServiceAsExponential, false);
-        repartoLiquidazioni = factory.createRepartoLiquidazioni(approximateServiceAsExponential, isDigitalSignature, false);
+        CenterFactory factory = new CenterFactory(isImprovedSimulation, general);
+        network = factory.createNetwork(approximateServiceAsExponential, isDigitalSignature, false);
+        engine = new SimulationEngine(network, eventListType);
+        repartoLiquidazioni = network.find(RepartoLiquidazioni_MAACFinance.class);
     }
 
-    private void resetCenters(Rngs rngs) {
-        scoringAutomatico.reset(rngs);
-        comitatoCredito.reset(rngs);
-        repartoLiquidazioni.reset(rngs);
+    private SamplingClock createSamplingClock(boolean shouldTrackObservations) {
+        // observations are sampled every samplingInterval minutes, between real events
+        SamplingClock clock = new SamplingClock();
+        if (shouldTrackObservations) {
+            clock.register(samplingInterval, t -> updateObservations());
+        }
+        return clock;
     }
 
-    private void processCurrentEvent(MsqEvent event, MsqTime msqTime, EventQueue events) {
-        switch (event.type) {
-            case ARRIVAL_REPARTO_ISTRUTTORIE:
-                repartoIstruttorie.processArrival(event, msqTime, events);
-                repartoIstruttorie.generateNextArrival(events);
-                break;
-            case COMPLETION_REPARTO_ISTRUTTORIE:
-                repartoIstruttorie.processCompletion(event, msqTime, events);
-                break;
-            case ARRIVAL_SCORING_AUTOMATICO:
-                scoringAutomatico.processArrival(event, msqTime, events);
-                break;
-            case COMPLETION_SCORING_AUTOMATICO:
-                scoringAutomatico.processCompletion(event, msqTime, events);
-                break;
-            case ARRIVAL_COMITATO_CREDITO:
-                comitatoCredito.processArrival(event, msqTime, events);
-                break;
-            case COMPLETION_COMITATO_CREDITO:
-                comitatoCredito.processCompletion(event, msqTime, events);
-                break;
-            case ARRIVAL_REPARTO_LIQUIDAZIONI:
-                repartoLiquidazioni.processArrival(event, msqTime, events);
-                break;
-            case COMPLETION_REPARTO_LIQUIDAZIONI:
-                repartoLiquidazioni.processCompletion(event, msqTime, events);
-                break;
+    private void runReplication(RngEngine rngs, ReplicationSeeding seeding, int replication, SamplingClock clock) throws Exception {
+        seeding.plant(rngs, replication);
+        engine.run(rngs, start, new FiniteHorizonPolicy(stop), clock);
+    }
+
+    private List<BasicStatistics> getAllStatistics() {
+        List<BasicStatistics> statistics = new ArrayList<>();
+        for (Center center : network.getCenters()) {
+            statistics.add(center.getStatistics());
         }
+        return statistics;
     }
 
     private void saveAllStats() {
-        repartoIstruttorie.saveStats();
-        scoringAutomatico.saveStats();
-        comitatoCredito.saveStats();
-        repartoLiquidazioni.saveStats();
+        network.getCenters().forEach(Center::saveStats);
+    }
+
+    private void appendStats(FiniteSimulationRunner replica) {
+        List<Center> centers = network.getCenters();
+        for (int i = 0; i < centers.size(); i++) {
+            centers.get(i).getStatistics().append(replica.network.getCenters().get(i).getStatistics());
+        }
+        repartoLiquidazioni.getResidenceTimes().addAll(replica.repartoLiquidazioni.getResidenceTimes());
+    }
+
+    // a merged replica gives its series back for the next ones
+    private void close() {
+        network.close();
+        if (observations != null) {
+            observations.forEach(list -> list.forEach(Observations::close));
+        }
     }
 
     private void modelVerification(String simulationType) {
-        List<AnalyticalComputation.AnalyticalResult> analyticalResultList = computeAnalyticalResults(simulationType);
+        List<AnalyticalComputation.AnalyticalResult> analyticalResultList = isImprovedSimulation
+                ? computeAnalyticalResultsImproved(simulationType)
+                : computeAnalyticalResults(simulationType);
 
         // Compare results and verifications and save comparison result
         List<MeanStatistics> meanStatisticsList = aggregateMeanStatistics();
@@ -231,82 +215,63 @@ public class FiniteSimulationRunner {
 
     private List<MeanStatistics> aggregateMeanStatistics() {
         List<MeanStatistics> meanStatisticsList = new ArrayList<>();
-
-        meanStatisticsList.add(repartoIstruttorie.getMeanStatistics());
-        meanStatisticsList.add(scoringAutomatico.getMeanStatistics());
-        meanStatisticsList.add(comitatoCredito.getMeanStatistics());
-        meanStatisticsList.add(repartoLiquidazioni.getMeanStatistics());
+        for (Center center : network.getCenters()) {
+            meanStatisticsList.add(center.getMeanStatistics());
+        }
         return meanStatisticsList;
     }
 
     private void printMeanResponseTime(){
-        System.out.println("Average response time in REPARTO ISTRUTTORIE: "+ repartoIstruttorie.getMeanStatistics().meanResponseTime);
-        System.out.println("Average response time in SISTEMA SCORING AUTOMATICO: "+ scoringAutomatico.getMeanStatistics().meanResponseTime);
-        System.out.println("Average response time in COMITATO CREDITO: " + comitatoCredito.getMeanStatistics().meanResponseTime);
-        System.out.println("Average response time in REPARTO LIQUIDAZIONI: "+repartoLiquidazioni.getMeanStatistics().meanResponseTime);
+        List<Center> centers = network.getCenters();
+        for (int i = 0; i < centers.size(); i++) {
+            System.out.println("Average response time in " + network.getLabels().get(i) + ": " + centers.get(i).getMeanStatistics().meanResponseTime);
+        }
     }
 
     private List<ConfidenceIntervals> aggregateConfidenceIntervals() {
         List<ConfidenceIntervals> confidenceIntervalsList = new ArrayList<>();
-        confidenceIntervalsList.add(createConfidenceIntervals(repartoIstruttorie.getStatistics()));
-        confidenceIntervalsList.add(createConfidenceIntervals(scoringAutomatico.getStatistics()));
-        confidenceIntervalsList.add(createConfidenceIntervals(comitatoCredito.getStatistics()));
-        confidenceIntervalsList.add(createConfidenceIntervals(repartoLiquidazioni.getStatistics()));
+        for (Center center : network.getCenters()) {
+            confidenceIntervalsList.add(createConfidenceIntervals(center.getStatistics()));
+        }
         return confidenceIntervalsList;
     }
 
     private ConfidenceIntervals createConfidenceIntervals(BasicStatistics stats) {
         return new ConfidenceIntervals(
-                stats.meanResponseTimeList, stats.meanQueueTimeList, stats.meanServiceTimeList,
-                stats.meanSystemPopulationList, stats.meanQueuePopulationList, stats.meanUtilizationList, stats.lambdaList
+                stats.meanResponseTime, stats.meanQueueTime, stats.meanServiceTime,
+                stats.meanSystemPopulation, stats.meanQueuePopulation, stats.meanUtilization, stats.lambda
         );
     }
 
     private void writeAllStats(String simulationType, long seed) {
         System.out.println("Writing csv files with stats for all the centers.");
-        repartoIstruttorie.writeStats(simulationType, seed);
-        scoringAutomatico.writeStats(simulationType, seed);
-        comitatoCredito.writeStats(simulationType, seed);
-        repartoLiquidazioni.writeStats(simulationType, seed);
-    }
-
-    private long getTotalNumberOfJobsInSystem() {
-        return repartoIstruttorie.getNumberOfJobsInNode() +
-                scoringAutomatico.getNumberOfJobsInNode() +
-                comitatoCredito.getNumberOfJobsInNode() +
-                repartoLiquidazioni.getNumberOfJobsInNode();
+        for (Center center : network.getCenters()) {
+            center.writeStats(simulationType, seed);
+        }
     }
 
-    private void updateAreas(MsqTime msqTime) {
-        // Updating the areas
-        repartoIstruttorie.setArea(msqTime);
-        scoringAutomatico.setArea(msqTime);
-        comitatoCredito.setArea(msqTime);
-        repartoLiquidazioni.setArea(msqTime);
+    private void initObservations() {
+        observations = new ArrayList<>();
+        for (Center center : network.getObservedCenters()) {
+            observations.add(center.createObservations());
+        }
     }
 
-    private void initObservations(String path) {
-        FileUtils.deleteDirectory(path);
-        repartoIstruttorieObservations = new ArrayList<>();
-        for (int i = 0; i < repartoIstruttorie.getServersNumber(); i++) {
-            repartoIstruttorieObservations.add(new Observations("%s_%d".formatted(repartoIstruttorie.getCenterName(), i + 1)));
+    private void updateObservations() {
+        List<Center> centers = network.getObservedCenters();
+        for (int i = 0; i < centers.size(); i++) {
+            centers.get(i).updateObservations(observations.get(i));
         }
-        scoringAutomaticoObservations = new Observations(scoringAutomatico.getCenterName());
-        comitatoCreditoObservations = new Observations(comitatoCredito.getCenterName());
-        repartoLiquidazioniObservations = new Observations(repartoLiquidazioni.getCenterName());
     }
 
     private void resetObservations() {
-        repartoIstruttorieObservations.forEach(Observations::reset);
-        scoringAutomaticoObservations.reset();
-        comitatoCreditoObservations.reset();
-        repartoLiquidazioniObservations.reset();
+        observations.forEach(list -> list.forEach(Observations::reset));
     }
 
     private void writeObservations(String path) {
-        PlotUtils.writeObservations(path, repartoIstruttorieObservations);
-        PlotUtils.writeObservations(path, scoringAutomaticoObservations);
-        PlotUtils.writeObservations(path, comitatoCreditoObservations);
-        PlotUtils.writeObservations(path, repartoLiquidazioniObservations);
+        List<Center> centers = network.getObservedCenters();
+        for (int i = 0; i < centers.size(); i++) {
+            centers.get(i).writeObservations(path, observations.get(i));
+        }
     }
 }
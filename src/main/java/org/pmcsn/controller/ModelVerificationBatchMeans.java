@@ -1,6 +1,6 @@
 package org.pmcsn.controller;
 
-import org.pmcsn.configuration.ConfigurationManager;
+import org.pmcsn.configuration.GeneralConfiguration;
 import org.pmcsn.model.BatchStatistics;
 import org.pmcsn.model.BatchMetric;
 
@@ -11,113 +11,87 @@ import static org.pmcsn.utils.PrintUtils.printBatchStatisticsResult;
 public class ModelVerificationBatchMeans {
 
     public static void runModelVerificationWithBatchMeansMethod() throws Exception {
-        ConfigurationManager config = new ConfigurationManager();
-        int batchSize = config.getInt("general", "batchSize");
-        int numBatches = config.getInt("general", "numBatches");
-        int warmupThreshold = (int) ((batchSize*numBatches)*config.getDouble("general", "warmupPercentage"));
-        BatchSimulationRunner batchRunner = new BatchSimulationRunner(batchSize, numBatches, warmupThreshold);
+        GeneralConfiguration general = GeneralConfiguration.get();
+        int batchSize = general.batchSize;
+        int numBatches = general.numBatches;
+        int warmupThreshold = (int) ((batchSize * numBatches) * general.warmupPercentage);
+        BatchSimulationRunner batchRunner = new BatchSimulationRunner(false, batchSize, numBatches, warmupThreshold);
         List<BatchStatistics> batchStatisticsList = batchRunner.runBatchSimulation(true, false);
 
         // Iterate over each BatchStatistics object
         for (BatchStatistics batchStatistics : batchStatisticsList) {
             // List of all metric lists for current BatchStatistics with their labels
             List<BatchMetric> allBatchMetrics = List.of(
-                    new BatchMetric("E[Ts]", batchStatistics.meanResponseTimeList),
-                    new BatchMetric("E[Tq]", batchStatistics.meanQueueTimeList),
-                    new BatchMetric("E[s]", batchStatistics.meanServiceTimeList),
-                    new BatchMetric("E[Ns]", batchStatistics.meanSystemPopulationList),
-                    new BatchMetric("E[Nq]", batchStatistics.meanQueuePopulationList),
-                    new BatchMetric("ρ", batchStatistics.meanUtilizationList),
-                    new BatchMetric("λ", batchStatistics.lambdaList)
+                    new BatchMetric("E[Ts]", batchStatistics.meanResponseTime),
+                    new BatchMetric("E[Tq]", batchStatistics.meanQueueTime),
+                    new BatchMetric("E[s]", batchStatistics.meanServiceTime),
+                    new BatchMetric("E[Ns]", batchStatistics.meanSystemPopulation),
+                    new BatchMetric("E[Nq]", batchStatistics.meanQueuePopulation),
+                    new BatchMetric("ρ", batchStatistics.meanUtilization),
+                    new BatchMetric("λ", batchStatistics.lambda)
             );
 
             // Calculate ACF for each metric list
             for (BatchMetric batchMetric : allBatchMetrics) {
-                double acfValue = Math.abs(acf(batchMetric.values));
+                double acfValue = Math.abs(batchMetric.values.getAcf());
                 batchMetric.setAcfValue(acfValue);
             }
 
             // Pass the metrics and the allOk status to the print function
-            printBatchStatisticsResult(batchStatistics.getCenterName(), allBatchMetrics, batchSize, numBatches);
+            printBatchStatisticsResult(batchStatistics.getCenterName(), allBatchMetrics, batchStatistics.getBatchSize(), numBatches);
         }
     }
 
     public static void runModelVerificationWithBatchMeansMethodImproved() throws Exception {
-        ConfigurationManager config = new ConfigurationManager();
-        int batchSize = config.getInt("general", "batchSizeImproved");
-        int numBatches = config.getInt("general", "numBatchesImproved");
-        int warmupThreshold = (int) ((batchSize*numBatches)*config.getDouble("general", "warmupPercentageImproved"));
+        GeneralConfiguration general = GeneralConfiguration.get();
+        int batchSize = general.batchSizeImproved;
+        int numBatches = general.numBatchesImproved;
+        int warmupThreshold = (int) ((batchSize * numBatches) * general.warmupPercentageImproved);
 
-        BatchImprovedSimulationRunner batchRunner = new BatchImprovedSimulationRunner(batchSize, numBatches, warmupThreshold);
+        BatchSimulationRunner batchRunner = new BatchSimulationRunner(true, batchSize, numBatches, warmupThreshold);
         List<BatchStatistics> batchStatisticsList = batchRunner.runBatchSimulation(true, false);
 
         // Iterate over each BatchStatistics object
         for (BatchStatistics batchStatistics : batchStatisticsList) {
             // List of all metric lists for current BatchStatistics with their labels
             List<BatchMetric> allBatchMetrics = List.of(
-                    new BatchMetric("E[Ts]", batchStatistics.meanResponseTimeList),
-                    new BatchMetric("E[Tq]", batchStatistics.meanQueueTimeList),
-                    new BatchMetric("E[s]", batchStatistics.meanServiceTimeList),
-                    new BatchMetric("E[Ns]", batchStatistics.meanSystemPopulationList),
-                    new BatchMetric("E[Nq]", batchStatistics.meanQueuePopulationList),
-                    new BatchMetric("ρ", batchStatistics.meanUtilizationList),
-                    new BatchMetric("λ", batchStatistics.lambdaList)
+                    new BatchMetric("E[Ts]", batchStatistics.meanResponseTime),
+                    new BatchMetric("E[Tq]", batchStatistics.meanQueueTime),
+                    new BatchMetric("E[s]", batchStatistics.meanServiceTime),
+                    new BatchMetric("E[Ns]", batchStatistics.meanSystemPopulation),
+                    new BatchMetric("E[Nq]", batchStatistics.meanQueuePopulation),
+                    new BatchMetric("ρ", batchStatistics.meanUtilization),
+                    new BatchMetric("λ", batchStatistics.lambda)
             );
 
             // Calculate ACF for each metric list
             for (BatchMetric batchMetric : allBatchMetrics) {
-                double acfValue = Math.abs(acf(batchMetric.values));
+                double acfValue = Math.abs(batchMetric.values.getAcf());
                 batchMetric.setAcfValue(acfValue);
             }
 
             // Pass the metrics and the allOk status to the print function
-            printBatchStatisticsResult(batchStatistics.getCenterName(), allBatchMetrics, batchSize, numBatches);
+            printBatchStatisticsResult(batchStatistics.getCenterName(), allBatchMetrics, batchStatistics.getBatchSize(), numBatches);
         }
     }
 
 
     public static void runModelWithBatchMeansMethod() throws Exception {
-        ConfigurationManager config = new ConfigurationManager();
-        int batchSize = config.getInt("general", "batchSize");
-        int numBatches = config.getInt("general", "numBatches");
-        int warmupThreshold = (int) ((batchSize * numBatches) * config.getDouble("general", "warmupPercentage"));
-        BatchSimulationRunner batchRunner = new BatchSimulationRunner(batchSize, numBatches, warmupThreshold);
+        GeneralConfiguration general = GeneralConfiguration.get();
+        int batchSize = general.batchSize;
+        int numBatches = general.numBatches;
+        int warmupThreshold = (int) ((batchSize * numBatches) * general.warmupPercentage);
+        BatchSimulationRunner batchRunner = new BatchSimulationRunner(false, batchSize, numBatches, warmupThreshold);
         batchRunner.runBatchSimulation(false, false);
     }
 
     public static void runModelWithBatchMeansMethodImproved() throws Exception {
-        ConfigurationManager config = new ConfigurationManager();
-        int batchSize = config.getInt("general", "batchSizeImproved");
-        int numBatches = config.getInt("general", "numBatchesImproved");
-        int warmupThreshold = (int) ((batchSize * numBatches) * config.getDouble("general", "warmupPercentageImproved"));
+        GeneralConfiguration general = GeneralConfiguration.get();
+        int batchSize = general.batchSizeImproved;
+        int numBatches = general.numBatchesImproved;
+        int warmupThreshold = (int) ((batchSize * numBatches) * general.warmupPercentageImproved);
 
-        BatchImprovedSimulationRunner batchRunner = new BatchImprovedSimulationRunner(batchSize, numBatches, warmupThreshold);
+        BatchSimulationRunner batchRunner = new BatchSimulationRunner(true, batchSize, numBatches, warmupThreshold);
         batchRunner.runBatchSimulation(false, false);
     }
-
-
-
-        public static double acf(List<Double> data) {
-        int k = data.size();
-        double mean = 0.0;
-
-        // Calculate the mean of the batch means
-        for (double value : data) {
-            mean += value;
-        }
-        mean /= k;
-
-        double numerator = 0.0;
-        double denominator = 0.0;
-
-        // Compute the numerator and denominator for the lag-1 autocorrelation
-        for (int j = 0; j < k - 1; j++) {
-            numerator += (data.get(j) - mean) * (data.get(j + 1) - mean);
-        }
-        for (int j = 0; j < k; j++) {
-            denominator += Math.pow(data.get(j) - mean, 2);
-        }
-        return numerator / denominator;
-    }
 }
-
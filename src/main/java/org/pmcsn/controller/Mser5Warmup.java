@@ -0,0 +1,146 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.Center;
+import org.pmcsn.centers.Network;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.pmcsn.utils.PrintUtils.printDebug;
+import static org.pmcsn.utils.PrintUtils.printWarning;
+
+/*
+ * MSER-5 warmup detection (White, 1997). The output series of a center is the
+ * number of jobs in it seen by each departure, averaged in batches of 5. For n
+ * batch means Y, MSER(d) = sum_{i>=d} (Y_i - mean_d)^2 / (n - d)^2 is the squared
+ * standard error of the mean left after truncating d of them; the truncation
+ * point is the d that minimizes it over the first half of the series.
+ *
+ * On a short series MSER is easily satisfied (d = 0 over a few hundred departures
+ * of a transient that is still rising), so a center is tested only once it has
+ * minBatches batch means, and then every time its series doubles. It settles when
+ * two consecutive tests agree: both find a point strictly inside the first half
+ * of their series, and the later point, found on twice the data, still lies in
+ * the first half of the series of the earlier test. A point that keeps moving
+ * with the data means the transient is not over yet.
+ *
+ * The statistics restart when the last center settles, so each center is
+ * truncated at least at its MSER point.
+ */
+class Mser5Warmup implements WarmupDetection {
+    private static final int BATCH = 5;
+
+    private final long maxWarmup;
+    private final int minBatches;
+    private long[] served;
+    private double[] batchSum;
+    private int[] batchCount;
+    private double[][] means;
+    private int[] size;
+    private int[] truncation;
+    // size of the next test, and the point (-1 if none) and size of the previous one
+    private int[] nextCheck;
+    private int[] previousPoint;
+    private int[] previousSize;
+    private int settled = 0;
+
+    Mser5Warmup(long maxWarmup, int minBatches) {
+        if (minBatches < 2) {
+            throw new IllegalArgumentException("MSER-5 needs at least 2 batch means: " + minBatches);
+        }
+        this.maxWarmup = maxWarmup;
+        this.minBatches = minBatches;
+    }
+
+    @Override
+    public boolean isOver(Network network) {
+        List<Center> centers = network.getCenters();
+        if (served == null) {
+            init(centers.size());
+        }
+        for (int i = 0; i < centers.size(); i++) {
+            Center center = centers.get(i);
+            long total = center.getTotalNumberOfJobsServed();
+            if (total == served[i]) {
+                continue;
+            }
+            served[i] = total;
+            if (truncation[i] >= 0) {
+                continue;
+            }
+            batchSum[i] += center.getNumberOfJobsInNode();
+            if (++batchCount[i] < BATCH) {
+                continue;
+            }
+            add(i, batchSum[i] / BATCH);
+            batchSum[i] = 0;
+            batchCount[i] = 0;
+            if (size[i] == nextCheck[i]) {
+                int n = size[i];
+                int d = truncationPoint(means[i], n);
+                boolean found = d < n / 2;
+                if (found && previousPoint[i] >= 0 && d < previousSize[i] / 2) {
+                    truncation[i] = d;
+                    settled++;
+                    printDebug("%s: MSER-5 truncation after %d of %d departures".formatted(center.getCenterName(), d * BATCH, n * BATCH));
+                } else {
+                    previousPoint[i] = found ? d : -1;
+                    previousSize[i] = n;
+                    nextCheck[i] = 2 * n;
+                }
+            }
+        }
+        if (settled == centers.size()) {
+            return true;
+        }
+        if (network.getMinimumNumberOfJobsServed() >= maxWarmup) {
+            printWarning("MSER-5 found no truncation point for every center within %d jobs, ending the warmup there".formatted(maxWarmup));
+            return true;
+        }
+        return false;
+    }
+
+    private void init(int centers) {
+        served = new long[centers];
+        batchSum = new double[centers];
+        batchCount = new int[centers];
+        means = new double[centers][minBatches];
+        size = new int[centers];
+        truncation = new int[centers];
+        Arrays.fill(truncation, -1);
+        nextCheck = new int[centers];
+        Arrays.fill(nextCheck, minBatches);
+        previousPoint = new int[centers];
+        previousSize = new int[centers];
+    }
+
+    private void add(int center, double mean) {
+        if (size[center] == means[center].length) {
+            means[center] = Arrays.copyOf(means[center], 2 * size[center]);
+        }
+        means[center][size[center]++] = mean;
+    }
+
+    // argmin of MSER(d) for d in [0, n/2], from the suffix sums of y
+    static int truncationPoint(double[] y, int n) {
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = n - 1; i > n / 2; i--) {
+            sum += y[i];
+            sumSquares += y[i] * y[i];
+        }
+        int best = n / 2;
+        double min = Double.POSITIVE_INFINITY;
+        for (int d = n / 2; d >= 0; d--) {
+            sum += y[d];
+            sumSquares += y[d] * y[d];
+            int m = n - d;
+            double mser = (sumSquares - sum * sum / m) / ((double) m * m);
+            if (mser <= min) {
+                min = mser;
+                best = d;
+            }
+        }
+        return best;
+    }
+}
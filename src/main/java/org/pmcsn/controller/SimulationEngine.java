@@ -0,0 +1,68 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.EntryCenter;
+import org.pmcsn.centers.Network;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.model.*;
+
+/*
+ * Next-event simulation of a Network, shared by the finite-horizon and the batch
+ * means runners: what differs between them (when to stop, when the warmup ends)
+ * is the SimulationPolicy. Events are dispatched through the network handler
+ * array indexed by EventType.ordinal().
+ */
+public class SimulationEngine {
+    private final Network network;
+    private final Network.EventHandler[] handlers;
+    private final EventList.Type eventListType;
+
+    public SimulationEngine(Network network, EventList.Type eventListType) {
+        this.network = network;
+        this.handlers = network.getHandlers();
+        this.eventListType = eventListType;
+    }
+
+    // returns the event queue as left by the run
+    public EventQueue run(RngEngine rngs, double start, SimulationPolicy policy, SamplingClock clock) throws Exception {
+        MsqTime msqTime = new MsqTime();
+        msqTime.current = start;
+        AreaAccumulator areas = network.getAreas();
+        areas.start(msqTime.current);
+        EventQueue queue = new EventQueue(eventListType, network.getApplicant());
+        clock.reset();
+
+        EntryCenter entry = network.getEntry();
+        entry.start(rngs, start);
+        entry.setStop(policy.getStop());
+
+        // generating first arrival
+        double time = entry.getArrival();
+        MsqEvent firstEvent = queue.newEvent(network.getEntryArrival(), time);
+        firstEvent.applicant = queue.applicants.create(entry.getApplicantStream(), time);
+        queue.add(firstEvent);
+
+        // Initialize and reset other centers
+        network.resetCenters(rngs);
+
+        while (!policy.isDone(network, queue)) {
+            // Retrieving next event to be processed
+            MsqEvent event = queue.pop();
+            clock.advanceTo(event.time);
+            msqTime.next = event.time;
+
+            // Updating areas
+            areas.advance(msqTime.current, msqTime.next);
+            policy.beforeEvent(network, msqTime);
+
+            // Advancing the clock
+            msqTime.current = msqTime.next;
+
+            // Processing the event based on its type
+            handlers[event.type.ordinal()].handle(event, msqTime, queue);
+            queue.recycle(event);
+
+            policy.afterEvent(network, msqTime);
+        }
+        return queue;
+    }
+}
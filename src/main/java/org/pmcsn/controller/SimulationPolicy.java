@@ -0,0 +1,24 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.Network;
+import org.pmcsn.model.EventQueue;
+import org.pmcsn.model.MsqTime;
+
+/*
+ * Termination and statistics policy of a SimulationEngine run. The engine calls
+ * beforeEvent() once the areas have been integrated up to the next event but
+ * before the clock moves to it, and afterEvent() once the event has been
+ * processed.
+ */
+public interface SimulationPolicy {
+    // arrivals after this time are not generated
+    double getStop();
+
+    boolean isDone(Network network, EventQueue queue);
+
+    default void beforeEvent(Network network, MsqTime time) {
+    }
+
+    default void afterEvent(Network network, MsqTime time) {
+    }
+}
@@ -0,0 +1,32 @@
+package org.pmcsn.controller;
+
+import org.pmcsn.centers.Network;
+
+/*
+ * When the warmup of a batch means run is over, chosen with general.warmupDetection:
+ *
+ *   THRESHOLD  once every center has served warmupThreshold jobs, the fixed
+ *              fraction of batchSize * numBatches the runs have always used.
+ *   MSER5      once the MSER-5 truncation point of the number of jobs seen by the
+ *              departures of every center has settled, over at least minBatches
+ *              batch means of 5 (see Mser5Warmup), or after maxWarmup jobs served
+ *              by every center if some center never settles.
+ *
+ * The policy asks after every event of the warmup and stops asking at the first
+ * true answer.
+ */
+public interface WarmupDetection {
+    enum Type {
+        THRESHOLD,
+        MSER5
+    }
+
+    boolean isOver(Network network);
+
+    static WarmupDetection create(Type type, int warmupThreshold, long maxWarmup, int minBatches) {
+        return switch (type) {
+            case THRESHOLD -> network -> network.getMinimumNumberOfJobsServed() >= warmupThreshold;
+            case MSER5 -> new Mser5Warmup(maxWarmup, minBatches);
+        };
+    }
+}
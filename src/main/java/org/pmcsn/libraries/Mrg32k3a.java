@@ -0,0 +1,188 @@
+package org.pmcsn.libraries;
+
+/* -------------------------------------------------------------------------
+ * L'Ecuyer's MRG32k3a combined multiple recursive generator, with the
+ * stream/substream structure of his RngStreams package:
+ *
+ *   P. L'Ecuyer, R. Simard, E. J. Chen, W. D. Kelton, "An Object-Oriented
+ *   Random-Number Package with Many Long Streams and Substreams",
+ *   Operations Research 50(6), 2002.
+ *
+ * Stream j starts 2^127 draws after stream j - 1, and every stream is
+ * split into substreams of 2^76 draws (see nextSubstream()). The jump
+ * matrices are obtained at class initialization by repeated squaring of
+ * the one-step matrices, so any jump of 2^e draws costs e squarings.
+ * -------------------------------------------------------------------------
+ */
+public final class Mrg32k3a implements RngEngine {
+
+  static final long   M1   = 4294967087L;
+  static final long   M2   = 4294944443L;
+  static final long   A12  = 1403580L;
+  static final long   A13N = 810728L;
+  static final long   A21  = 527612L;
+  static final long   A23N = 1370589L;
+  static final double NORM = 2.328306549295727688e-10;     /* 1 / (M1 + 1) */
+
+  /* one-step transition matrices of the two components */
+  static final long[][] A1 = {{0, 1, 0}, {0, 0, 1}, {M1 - A13N, A12, 0}};
+  static final long[][] A2 = {{0, 1, 0}, {0, 0, 1}, {M2 - A23N, 0, A21}};
+
+  /* jumps of 2^76 draws (substreams) and 2^127 draws (streams) */
+  static final long[][] A1P76  = power2(A1, 76, M1);
+  static final long[][] A2P76  = power2(A2, 76, M2);
+  static final long[][] A1P127 = power2(A1, 127, M1);
+  static final long[][] A2P127 = power2(A2, 127, M2);
+
+  static final long DEFAULT = 123456789L;
+
+  final long[][] state     = new long[STREAMS][6];  /* current state         */
+  final long[][] substream = new long[STREAMS][6];  /* start of substream    */
+  int stream = 0;
+
+  public static void main(String[] args) {
+    testJumps();
+  }
+
+  public Mrg32k3a() {
+    plantSeeds(DEFAULT);
+  }
+
+  public void plantSeeds(long x) {
+/* ---------------------------------------------------------------------
+ * Stream 0 starts from a state hashed from x (SplitMix64), each of the
+ * other streams 2^127 draws after the previous one.
+ * ---------------------------------------------------------------------
+ */
+    long[] s = new long[6];
+    for (int i = 0; i < 6; i++) {
+      x += 0x9e3779b97f4a7c15L;
+      s[i] = Long.remainderUnsigned(mix(x), (i < 3) ? M1 : M2);
+    }
+    if ((s[0] | s[1] | s[2]) == 0)         /* a component must not be all zero */
+      s[0] = 1;
+    if ((s[3] | s[4] | s[5]) == 0)
+      s[3] = 1;
+    for (int j = 0; j < STREAMS; j++) {
+      System.arraycopy(s, 0, state[j], 0, 6);
+      System.arraycopy(s, 0, substream[j], 0, 6);
+      jump(s, A1P127, A2P127);
+    }
+  }
+
+  public void selectStream(int index) {
+    stream = index % STREAMS;
+  }
+
+  public double random() {
+    return (next(state[stream]));
+  }
+
+  public RngStream stream(int index) {
+    long[] s = state[index % STREAMS];
+    return () -> next(s);
+  }
+
+  public void nextSubstream(int index) {
+/* ---------------------------------------------------------------------
+ * Moves a stream to the beginning of its next substream.
+ * ---------------------------------------------------------------------
+ */
+    int j = index % STREAMS;
+    jump(substream[j], A1P76, A2P76);
+    System.arraycopy(substream[j], 0, state[j], 0, 6);
+  }
+
+  static double next(long[] s) {
+    long p1 = (A12 * s[1] - A13N * s[0]) % M1;
+    if (p1 < 0)
+      p1 += M1;
+    s[0] = s[1];
+    s[1] = s[2];
+    s[2] = p1;
+    long p2 = (A21 * s[5] - A23N * s[3]) % M2;
+    if (p2 < 0)
+      p2 += M2;
+    s[3] = s[4];
+    s[4] = s[5];
+    s[5] = p2;
+    return (((p1 > p2) ? (p1 - p2) : (p1 - p2 + M1)) * NORM);
+  }
+
+  static void jump(long[] s, long[][] j1, long[][] j2) {
+/* ---------------------------------------------------------------------
+ * Advances the state s by the jump whose component matrices are j1, j2.
+ * ---------------------------------------------------------------------
+ */
+    long[] v1 = {s[0], s[1], s[2]};
+    long[] v2 = {s[3], s[4], s[5]};
+    for (int i = 0; i < 3; i++) {
+      s[i]     = dot(j1[i], v1, M1);
+      s[i + 3] = dot(j2[i], v2, M2);
+    }
+  }
+
+  static long[][] power2(long[][] a, int e, long m) {
+/* ---------------------------------------------------------------------
+ * Returns a^(2^e) mod m.
+ * ---------------------------------------------------------------------
+ */
+    long[][] p = a;
+    for (int i = 0; i < e; i++) {
+      long[][] q = new long[3][3];
+      for (int r = 0; r < 3; r++)
+        for (int c = 0; c < 3; c++)
+          q[r][c] = dot(p[r], new long[] {p[0][c], p[1][c], p[2][c]}, m);
+      p = q;
+    }
+    return (p);
+  }
+
+  static long dot(long[] row, long[] v, long m) {
+    long sum = 0;
+    for (int k = 0; k < 3; k++)
+      sum = (sum + mulMod(row[k], v[k], m)) % m;
+    return (sum);
+  }
+
+  static long mulMod(long a, long b, long m) {
+/* ---------------------------------------------------------------------
+ * Returns a * b mod m for 0 <= a, b < m < 2^32, splitting b in 16-bit
+ * halves so no intermediate product exceeds 2^49.
+ * ---------------------------------------------------------------------
+ */
+    long hi = (a * (b >>> 16)) % m;
+    return (((hi << 16) + a * (b & 0xFFFF)) % m);
+  }
+
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return (z ^ (z >>> 31));
+  }
+
+/* ------------------------------------------------------------------
+ * Use this (optional) function to test for a correct implementation:
+ * the first number from the RngStreams default seed (12345 in every
+ * component), a jump of 2^10 against 1024 steps, and the stream jump
+ * against 2^51 substream jumps.
+ * ------------------------------------------------------------------
+ */
+  public static void testJumps() {
+    long[] s = {12345, 12345, 12345, 12345, 12345, 12345};
+    boolean ok = Math.abs(next(s) - 0.1270111220) < 1e-10;
+
+    long[] stepped = s.clone();
+    for (int i = 0; i < 1024; i++)
+      next(stepped);
+    jump(s, power2(A1, 10, M1), power2(A2, 10, M2));
+    ok = ok && java.util.Arrays.equals(s, stepped);
+
+    ok = ok && java.util.Arrays.deepEquals(power2(A1P76, 51, M1), A1P127)
+            && java.util.Arrays.deepEquals(power2(A2P76, 51, M2), A2P127);
+    if (ok)
+      System.out.println("\n The implementation of Mrg32k3a.java is correct");
+    else
+      System.out.println("\n ERROR - the implementation of Mrg32k3a.java is not correct");
+  }
+}
@@ -0,0 +1,43 @@
+package org.pmcsn.libraries;
+
+/* -------------------------------------------------------------------------
+ * The multi-stream generator interface of Rngs, so the simulation can run
+ * on other engines. Every engine offers 256 streams, planted from a single
+ * seed and spaced far enough apart to be treated as independent:
+ *
+ *   LEHMER        Rngs: a = 48271, m = 2^31 - 1. Period ~2^31, streams
+ *                 8 367 782 draws apart. Reproduces the historical results.
+ *   MRG32K3A      L'Ecuyer's combined MRG. Period ~2^191, streams 2^127 draws
+ *                 apart, each split into substreams 2^76 draws apart.
+ *   XOSHIRO256PP  Blackman and Vigna's xoshiro256++. Period 2^256 - 1,
+ *                 streams 2^128 draws apart.
+ *
+ * RngEngineBenchmark measures their throughput and runs a small battery of
+ * statistical smoke tests on them.
+ * -------------------------------------------------------------------------
+ */
+public interface RngEngine {
+  enum Type {
+    LEHMER,
+    MRG32K3A,
+    XOSHIRO256PP
+  }
+
+  int STREAMS = 256;
+
+  void plantSeeds(long x);               /* seed every stream from x        */
+
+  void selectStream(int index);          /* stream used by random()         */
+
+  double random();                       /* next number of the current one  */
+
+  RngStream stream(int index);           /* handle on one stream, see above */
+
+  static RngEngine create(Type type) {
+    return switch (type) {
+      case LEHMER -> new Rngs();
+      case MRG32K3A -> new Mrg32k3a();
+      case XOSHIRO256PP -> new Xoshiro256PlusPlus();
+    };
+  }
+}
@@ -0,0 +1,18 @@
+package org.pmcsn.libraries;
+
+/* -------------------------------------------------------------------------
+ * A handle on a single stream of an RngEngine. It draws from the stream's
+ * state in place, without moving the engine's current stream, so a center
+ * can hold one handle per purpose (service, routing, arrivals) instead of
+ * calling selectStream() before every draw.
+ *
+ * A handle shares the state of its engine: plantSeeds() on the engine
+ * re-seeds every handle, and interleaving random() on the engine with
+ * random() on a handle of the current stream advances the same sequence.
+ * The numbers are exactly those random() returns after selectStream(index).
+ * -------------------------------------------------------------------------
+ */
+public interface RngStream {
+
+  double random();                       /* in (0.0, 1.0) */
+}
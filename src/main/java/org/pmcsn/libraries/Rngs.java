@@ -41,7 +41,7 @@ import java.io.InputStreamReader;
 import java.util.Date;
 
 
-public class Rngs {
+public class Rngs implements RngEngine {
 
   long MODULUS      = 2147483647; /* DON'T CHANGE THIS VALUE                  */
   long MULTIPLIER   = 48271;      /* DON'T CHANGE THIS VALUE                  */
@@ -51,6 +51,14 @@ public class Rngs {
   int STREAMS       = 256;        /* # of streams, DON'T CHANGE THIS VALUE    */
   long A256         = 22925;      /* jump multiplier, DON'T CHANGE THIS VALUE */
 
+  public static final long MERSENNE = 2147483647L; /* m = 2^31 - 1                   */
+  public static final long PERIOD   = 2147483646L; /* m - 1                          */
+  public static final long SPACING  = 8367782L;    /* Random() calls between streams */
+
+  /* used by fill(): number of lanes and the lane multiplier a^4 mod m */
+  static final int  LANES            = 4;
+  static final long MULTIPLIER_LANES = mulMod(mulMod(48271, 48271), mulMod(48271, 48271));
+
   /* Barry Lawson 8 Nov 2007 */
   // Consistent with the changes to the Rvgs constructor, the seed[] array and
   // its associated variables should not be declared static.  If they are, 
@@ -106,6 +114,79 @@ public class Rngs {
     return ((double) seed[stream] / MODULUS);
   }
 
+  public void fill(int stream, double[] out, int off, int len) {
+/* ----------------------------------------------------------------------
+ * Fill writes the next len random numbers of the given stream into
+ * out[off .. off + len - 1] and leaves the stream positioned after them,
+ * exactly as len calls to random() on that stream would. The current
+ * stream is not changed.
+ *
+ * The loop avoids Schrage's division: since m = 2^31 - 1 is a Mersenne
+ * prime, p mod m is obtained from the 64-bit product p by folding the high
+ * bits onto the low ones. Four interleaved lanes advance by a^4 mod m, so
+ * the iterations are independent of each other and can be pipelined.
+ * ----------------------------------------------------------------------
+ */
+    int s = stream % STREAMS;
+    if ((initialized == 0) && (s != 0))        /* same protection as selectStream */
+      plantSeeds(DEFAULT);
+    long x = seed[s];
+    int i   = off;
+    int end = off + len;
+    if (len >= 2 * LANES) {
+      long x0 = mulMod(MULTIPLIER, x);
+      long x1 = mulMod(MULTIPLIER, x0);
+      long x2 = mulMod(MULTIPLIER, x1);
+      long x3 = mulMod(MULTIPLIER, x2);
+      for (; i + LANES <= end; i += LANES) {
+        out[i]     = (double) x0 / MODULUS;
+        out[i + 1] = (double) x1 / MODULUS;
+        out[i + 2] = (double) x2 / MODULUS;
+        out[i + 3] = (double) x3 / MODULUS;
+        x  = x3;
+        x0 = mulMod(MULTIPLIER_LANES, x0);
+        x1 = mulMod(MULTIPLIER_LANES, x1);
+        x2 = mulMod(MULTIPLIER_LANES, x2);
+        x3 = mulMod(MULTIPLIER_LANES, x3);
+      }
+    }
+    for (; i < end; i++) {
+      x = mulMod(MULTIPLIER, x);
+      out[i] = (double) x / MODULUS;
+    }
+    seed[s] = x;
+  }
+
+  static long mulMod(long a, long x) {
+/* --------------------------------------------------------
+ * Returns (a * x) mod m for 0 <= a, x < m, without division.
+ * --------------------------------------------------------
+ */
+    long p = a * x;                               /* < 2^62                */
+    p = (p & MERSENNE) + (p >>> 31);              /* < 2^32                */
+    p = (p & MERSENNE) + (p >>> 31);              /* <= m                  */
+    return (p >= MERSENNE) ? p - MERSENNE : p;
+  }
+
+  public static long jumpAhead(long x, long steps) {
+/* ---------------------------------------------------------------------
+ * Returns the state reached from state x after steps calls to Random(),
+ * i.e. a^steps * x mod m, in O(log steps) multiplications by repeated
+ * squaring of the multiplier. For instance the state planted in stream j
+ * by plantSeeds(x) is jumpAhead(x, j * SPACING), since A256 = a^SPACING.
+ * NOTE: use 0 < x < m and steps >= 0
+ * ---------------------------------------------------------------------
+ */
+    long a = 48271;
+    while (steps > 0) {
+      if ((steps & 1) != 0)
+        x = mulMod(a, x);
+      a = mulMod(a, a);
+      steps >>>= 1;
+    }
+    return (x);
+  }
+
   public void plantSeeds(long x) {
 /* ---------------------------------------------------------------------
  * Use this function to set the state of all the random number generator
@@ -193,6 +274,34 @@ public class Rngs {
       plantSeeds(DEFAULT);                     /* un-initialized streams */
   }
   
+  public RngStream stream(int index) {
+/* ------------------------------------------------------------------
+ * Use this function to get a handle on one stream; see RngStream.
+ * Draws through the handle never change the current stream.
+ * ------------------------------------------------------------------
+ */
+    int s = index % STREAMS;
+    if ((initialized == 0) && (s != 0))        /* same protection as selectStream */
+      plantSeeds(DEFAULT);
+    return new Stream(seed, s);
+  }
+
+  private static final class Stream implements RngStream {
+    private final long[] seed;           /* state array of the generator */
+    private final int    index;
+
+    Stream(long[] seed, int index) {
+      this.seed  = seed;
+      this.index = index;
+    }
+
+    public double random() {
+      long x = mulMod(48271, seed[index]);
+      seed[index] = x;
+      return ((double) x / MERSENNE);
+    }
+  }
+
 /* ------------------------------------------------------------------
  * Use this (optional) function to test for a correct implementation.
  * ------------------------------------------------------------------
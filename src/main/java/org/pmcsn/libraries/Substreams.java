@@ -0,0 +1,67 @@
+package org.pmcsn.libraries;
+
+/* -------------------------------------------------------------------------
+ * A replication -> center -> purpose hierarchy of disjoint substreams of
+ * the Lehmer generator. The period m - 1 is cut into
+ *
+ *              replications * centers * purposes
+ *
+ * consecutive substreams of equal length, and the initial state of any of
+ * them is computed directly with Rngs.jumpAhead(), so a worker can seed
+ * replication k without running (or chaining from) replications 0 .. k-1.
+ *
+ * A substream is only as long as the period allows: with 10 000 replications
+ * of 6 centers with 2 purposes each, it still holds ~17 900 draws, far more
+ * than a finite-horizon replication uses, but the layout cannot check that a
+ * run stays within its share.
+ * -------------------------------------------------------------------------
+ */
+public class Substreams {
+
+  private final long seed;
+  private final int  centers;
+  private final int  purposes;
+  private final long length;             /* draws per substream */
+
+  public Substreams(long seed, int replications, int centers, int purposes) {
+    if ((seed <= 0) || (replications <= 0) || (centers <= 0) || (purposes <= 0))
+      throw new IllegalArgumentException("seed and substream counts must be positive");
+    long count = (long) replications * centers * purposes;
+    if (count > Rngs.PERIOD)
+      throw new IllegalArgumentException(count + " substreams exceed the generator period");
+    this.seed     = seed % Rngs.MERSENNE;
+    this.centers  = centers;
+    this.purposes = purposes;
+    this.length   = Rngs.PERIOD / count;
+  }
+
+  public long seed(int replication, int center, int purpose) {
+/* --------------------------------------------------------
+ * Returns the initial state of the given substream.
+ * --------------------------------------------------------
+ */
+    long index = ((long) replication * centers + center) * purposes + purpose;
+    return (Rngs.jumpAhead(seed, index * length));
+  }
+
+  public void plant(Rngs rngs, int replication, int[] centerStreams) {
+/* ---------------------------------------------------------------------
+ * Seeds rngs for one replication: stream centerStreams[c] + p gets the
+ * substream (replication, c, p). The other streams are planted from the
+ * replication's first substream as plantSeeds() does, so they hold valid
+ * states, but they are not disjoint from other replications: a model
+ * should only draw from the streams listed in centerStreams.
+ * ---------------------------------------------------------------------
+ */
+    if (centerStreams.length != centers)
+      throw new IllegalArgumentException("expected " + centers + " center streams, got " + centerStreams.length);
+    rngs.plantSeeds(seed(replication, 0, 0));
+    for (int c = 0; c < centers; c++)
+      for (int p = 0; p < purposes; p++)
+        rngs.seed[(centerStreams[c] + p) % rngs.STREAMS] = seed(replication, c, p);
+  }
+
+  public long length() {
+    return length;
+  }
+}
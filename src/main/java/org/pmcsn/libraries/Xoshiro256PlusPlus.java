@@ -0,0 +1,152 @@
+package org.pmcsn.libraries;
+
+/* -------------------------------------------------------------------------
+ * Blackman and Vigna's xoshiro256++ 1.0 (https://prng.di.unimi.it/):
+ * 256 bits of state, period 2^256 - 1, a handful of shifts, rotations and
+ * xors per draw. Stream j starts 2^128 draws after stream j - 1, using the
+ * published jump polynomial; longJump() moves a stream by 2^192 draws.
+ *
+ * Doubles take the top 53 bits of the output, shifted by half an ulp so
+ * that they lie in the open interval (0, 1) like those of Rngs.
+ * -------------------------------------------------------------------------
+ */
+public final class Xoshiro256PlusPlus implements RngEngine {
+
+  static final long[] JUMP = {
+    0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+  };
+  static final long[] LONG_JUMP = {
+    0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L
+  };
+
+  static final long DEFAULT = 123456789L;
+
+  final long[][] state = new long[STREAMS][4];
+  int stream = 0;
+
+  public static void main(String[] args) {
+    testJumps();
+  }
+
+  public Xoshiro256PlusPlus() {
+    plantSeeds(DEFAULT);
+  }
+
+  public void plantSeeds(long x) {
+/* ---------------------------------------------------------------------
+ * Stream 0 starts from a state filled by SplitMix64(x), each of the
+ * other streams 2^128 draws after the previous one.
+ * ---------------------------------------------------------------------
+ */
+    long[] s = new long[4];
+    for (int i = 0; i < 4; i++) {
+      x += 0x9e3779b97f4a7c15L;
+      s[i] = Mrg32k3a.mix(x);
+    }
+    for (int j = 0; j < STREAMS; j++) {
+      System.arraycopy(s, 0, state[j], 0, 4);
+      jump(s, JUMP);
+    }
+  }
+
+  public void selectStream(int index) {
+    stream = index % STREAMS;
+  }
+
+  public double random() {
+    return (toDouble(next(state[stream])));
+  }
+
+  public RngStream stream(int index) {
+    long[] s = state[index % STREAMS];
+    return () -> toDouble(next(s));
+  }
+
+  public void longJump(int index) {
+    jump(state[index % STREAMS], LONG_JUMP);
+  }
+
+  static long next(long[] s) {
+    long result = Long.rotateLeft(s[0] + s[3], 23) + s[0];
+    long t = s[1] << 17;
+    s[2] ^= s[0];
+    s[3] ^= s[1];
+    s[1] ^= s[2];
+    s[0] ^= s[3];
+    s[2] ^= t;
+    s[3] = Long.rotateLeft(s[3], 45);
+    return (result);
+  }
+
+  static double toDouble(long x) {
+    return (((x >>> 11) + 0.5) * 0x1.0p-53);
+  }
+
+  static void jump(long[] s, long[] polynomial) {
+/* ---------------------------------------------------------------------
+ * Replaces s by the state polynomial(T) s, T being the one-step map.
+ * ---------------------------------------------------------------------
+ */
+    long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+    for (long word : polynomial)
+      for (int b = 0; b < 64; b++) {
+        if ((word & (1L << b)) != 0) {
+          s0 ^= s[0];
+          s1 ^= s[1];
+          s2 ^= s[2];
+          s3 ^= s[3];
+        }
+        next(s);
+      }
+    s[0] = s0;
+    s[1] = s1;
+    s[2] = s2;
+    s[3] = s3;
+  }
+
+/* ------------------------------------------------------------------
+ * Use this (optional) function to test for a correct implementation:
+ * the step is linear over GF(2), so T^(2^e) is obtained by squaring
+ * the 256 x 256 bit matrix of T e times, and the jump polynomials must
+ * give the same states as T^(2^128) and T^(2^192).
+ * ------------------------------------------------------------------
+ */
+  public static void testJumps() {
+    long[][] t = new long[256][];          /* column i = T applied to e_i */
+    for (int i = 0; i < 256; i++) {
+      t[i] = new long[4];
+      t[i][i >> 6] = 1L << (i & 63);
+      next(t[i]);
+    }
+    long[] s = {DEFAULT, ~DEFAULT, DEFAULT << 32, 0x9e3779b97f4a7c15L};
+    boolean ok = true;
+    for (int e = 1; e <= 192; e++) {
+      t = multiply(t, t);
+      if (e == 128 || e == 192) {
+        long[] jumped = s.clone();
+        jump(jumped, (e == 128) ? JUMP : LONG_JUMP);
+        ok = ok && java.util.Arrays.equals(jumped, apply(t, s));
+      }
+    }
+    if (ok)
+      System.out.println("\n The implementation of Xoshiro256PlusPlus.java is correct");
+    else
+      System.out.println("\n ERROR - the implementation of Xoshiro256PlusPlus.java is not correct");
+  }
+
+  static long[] apply(long[][] m, long[] s) {
+    long[] r = new long[4];
+    for (int i = 0; i < 256; i++)
+      if ((s[i >> 6] & (1L << (i & 63))) != 0)
+        for (int w = 0; w < 4; w++)
+          r[w] ^= m[i][w];
+    return (r);
+  }
+
+  static long[][] multiply(long[][] a, long[][] b) {
+    long[][] c = new long[256][];
+    for (int j = 0; j < 256; j++)
+      c[j] = apply(a, b[j]);
+    return (c);
+  }
+}
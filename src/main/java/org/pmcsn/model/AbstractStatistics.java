@@ -4,9 +4,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.logging.Logger;
 
 public abstract class AbstractStatistics {
@@ -21,19 +19,32 @@ public abstract class AbstractStatistics {
         QueuePopulation,
         ResponseTime
     }
-    public List<Double> meanServiceTimeList = new ArrayList<>();
-    public List<Double> meanQueueTimeList = new ArrayList<>();
-    public List<Double> lambdaList = new ArrayList<>();
-    public List<Double> meanSystemPopulationList = new ArrayList<>();
-    public List<Double> meanUtilizationList = new ArrayList<>();
-    public List<Double> meanQueuePopulationList = new ArrayList<>();
-    public List<Double> meanResponseTimeList = new ArrayList<>();
+    // one value per run (or batch) of each metric
+    public final MetricAccumulator meanServiceTime;
+    public final MetricAccumulator meanQueueTime;
+    public final MetricAccumulator lambda;
+    public final MetricAccumulator meanSystemPopulation;
+    public final MetricAccumulator meanUtilization;
+    public final MetricAccumulator meanQueuePopulation;
+    public final MetricAccumulator meanResponseTime;
     MeanStatistics meanStatistics = null;
 
     private final String centerName;
 
     public AbstractStatistics(String centerName) {
+        this(centerName, true);
+    }
+
+    // without keepValues only the running statistics are kept, not the csv rows
+    public AbstractStatistics(String centerName, boolean keepValues) {
         this.centerName = centerName;
+        meanServiceTime = new MetricAccumulator(keepValues);
+        meanQueueTime = new MetricAccumulator(keepValues);
+        lambda = new MetricAccumulator(keepValues);
+        meanSystemPopulation = new MetricAccumulator(keepValues);
+        meanUtilization = new MetricAccumulator(keepValues);
+        meanQueuePopulation = new MetricAccumulator(keepValues);
+        meanResponseTime = new MetricAccumulator(keepValues);
     }
 
     public MeanStatistics getMeanStatistics() {
@@ -52,21 +63,25 @@ public abstract class AbstractStatistics {
     }
 
     public void saveStats(Area area, MsqSum[] sum, double lastArrivalTime, double lastCompletionTime, boolean isMultiServer, double currentBatchStartTime) {
+        saveStats(area.getNodeArea(), area.getQueueArea(), area.getServiceArea(), sum, lastArrivalTime, lastCompletionTime, isMultiServer, currentBatchStartTime);
+    }
+
+    public void saveStats(double nodeArea, double queueArea, double serviceArea, MsqSum[] sum, double lastArrivalTime, double lastCompletionTime, boolean isMultiServer, double currentBatchStartTime) {
         long numberOfJobsServed = Arrays.stream(sum).mapToLong(s -> s.served).sum();
         double lambda = numberOfJobsServed / (lastArrivalTime - currentBatchStartTime);
-        add(Index.Lambda, lambdaList, lambda);
+        add(Index.Lambda, this.lambda, lambda);
         // mean system population (E[Ns])
-        double meanSystemPopulation = area.getNodeArea() / (lastCompletionTime - currentBatchStartTime);
-        add(Index.SystemPopulation, meanSystemPopulationList, meanSystemPopulation);
+        double meanSystemPopulation = nodeArea / (lastCompletionTime - currentBatchStartTime);
+        add(Index.SystemPopulation, this.meanSystemPopulation, meanSystemPopulation);
         // mean response time (E[Ts])
-        double meanResponseTime = area.getNodeArea() / numberOfJobsServed;
-        add(Index.ResponseTime, meanResponseTimeList, meanResponseTime);
+        double meanResponseTime = nodeArea / numberOfJobsServed;
+        add(Index.ResponseTime, this.meanResponseTime, meanResponseTime);
         // mean queue population (E[Nq])
-        double meanQueuePopulation = area.getQueueArea() / (lastCompletionTime - currentBatchStartTime);
-        add(Index.QueuePopulation, meanQueuePopulationList, meanQueuePopulation);
+        double meanQueuePopulation = queueArea / (lastCompletionTime - currentBatchStartTime);
+        add(Index.QueuePopulation, this.meanQueuePopulation, meanQueuePopulation);
         // mean wait time (E[Tq])
-        double meanQueueTime = area.getQueueArea() / numberOfJobsServed;
-        add(Index.QueueTime, meanQueueTimeList, meanQueueTime);
+        double meanQueueTime = queueArea / numberOfJobsServed;
+        add(Index.QueueTime, this.meanQueueTime, meanQueueTime);
         double meanServiceTime;
         double utilization;
         if (isMultiServer) {
@@ -81,13 +96,36 @@ public abstract class AbstractStatistics {
             // mean service time (E[s])
             meanServiceTime = sum[0].service / sum[0].served;
             // mean utilization (ρ)
-            utilization = area.getServiceArea() / (lastCompletionTime - currentBatchStartTime);
+            utilization = serviceArea / (lastCompletionTime - currentBatchStartTime);
         }
-        add(Index.Utilization, meanUtilizationList, utilization);
-        add(Index.ServiceTime, meanServiceTimeList, meanServiceTime);
+        add(Index.Utilization, meanUtilization, utilization);
+        add(Index.ServiceTime, this.meanServiceTime, meanServiceTime);
     }
 
-    abstract void add(Index index, List<Double> list, double value);
+    abstract void add(Index index, MetricAccumulator metric, double value);
+
+    // appends the values saved by another instance after the ones already here
+    void appendAll(AbstractStatistics other) {
+        meanServiceTime.append(other.meanServiceTime);
+        meanQueueTime.append(other.meanQueueTime);
+        lambda.append(other.lambda);
+        meanSystemPopulation.append(other.meanSystemPopulation);
+        meanUtilization.append(other.meanUtilization);
+        meanQueuePopulation.append(other.meanQueuePopulation);
+        meanResponseTime.append(other.meanResponseTime);
+        meanStatistics = null;
+    }
+
+    // once the values have been written or appended somewhere else
+    public void close() {
+        meanServiceTime.close();
+        meanQueueTime.close();
+        lambda.close();
+        meanSystemPopulation.close();
+        meanUtilization.close();
+        meanQueuePopulation.close();
+        meanResponseTime.close();
+    }
 
     public void writeStats(String simulationType, long seed) {
         File parent = Path.of("csvFiles", simulationType, String.valueOf(seed), "results").toFile();
@@ -104,7 +142,7 @@ public abstract class AbstractStatistics {
             int run;
             String name = simulationType.contains("BATCH") ? "#Batch" : "#Run";
             fileWriter.append(name).append(", E[Ts], E[Tq], E[s], E[Ns], E[Nq], ρ, λ").append(DELIMITER);
-            for (run = 0; run < meanResponseTimeList.size(); run++) {
+            for (run = 0; run < meanResponseTime.size(); run++) {
                 writeRunValuesRow(fileWriter, run, COMMA, DELIMITER);
             }
             fileWriter.flush();
@@ -115,13 +153,13 @@ public abstract class AbstractStatistics {
 
     private void writeRunValuesRow(FileWriter fileWriter, int run, String COMMA, String DELIMITER) throws IOException {
         fileWriter.append(String.valueOf(run + 1)).append(COMMA)
-                .append(String.valueOf(meanResponseTimeList.get(run))).append(COMMA)
-                .append(String.valueOf(meanQueueTimeList.get(run))).append(COMMA)
-                .append(String.valueOf(meanServiceTimeList.get(run))).append(COMMA)
-                .append(String.valueOf(meanSystemPopulationList.get(run))).append(COMMA)
-                .append(String.valueOf(meanQueuePopulationList.get(run))).append(COMMA)
-                .append(String.valueOf(meanUtilizationList.get(run))).append(COMMA)
-                .append(String.valueOf(lambdaList.get(run))).append(DELIMITER);
+                .append(String.valueOf(meanResponseTime.get(run))).append(COMMA)
+                .append(String.valueOf(meanQueueTime.get(run))).append(COMMA)
+                .append(String.valueOf(meanServiceTime.get(run))).append(COMMA)
+                .append(String.valueOf(meanSystemPopulation.get(run))).append(COMMA)
+                .append(String.valueOf(meanQueuePopulation.get(run))).append(COMMA)
+                .append(String.valueOf(meanUtilization.get(run))).append(COMMA)
+                .append(String.valueOf(lambda.get(run))).append(DELIMITER);
     }
 
 }
@@ -1,102 +1,74 @@
 package org.pmcsn.model;
 
-import org.pmcsn.configuration.ConfigurationManager;
-import org.pmcsn.libraries.Rngs;
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.utils.RoutingTable;
 
-public class Applicant {
-    private static final double P_C = 0.82;
-    final int streamIndex;
-    final double entranceTime;
-    boolean haAnzianitaDiLavoro;
-    boolean isRapportoRataRedditoOk;
-    boolean haContrattoIndeterminato;
-    boolean haRichiesteORifiutiRecenti;
-    boolean haCorrispondenzaInBancaDati;
+/*
+ * The applicant's profile packed in the low bits of an int: one bit per check, the
+ * first four drawn together when the applicant is created, the fifth by the scoring
+ * system. ApplicantTable keeps one such value per job.
+ *
+ * An instance draws the profiles with the routing tables CenterFactory builds from
+ * the configuration of its network; reading the flags needs none.
+ */
+public final class Applicant {
+    // profile checks, in draw order; bit k of a joint outcome is check k
+    public static final int RICHIESTE_O_RIFIUTI_RECENTI = 0;
+    public static final int CONTRATTO_INDETERMINATO = 1;
+    public static final int ANZIANITA_DI_LAVORO = 2;
+    public static final int RAPPORTO_RATA_REDDITO_OK = 3;
+    public static final int CHECKS = 4;
+    private static final int CORRISPONDENZA_IN_BANCA_DATI = 4;
 
-    public static Applicant create(Rngs rngs, double entranceTime) {
-        ConfigurationManager config = new ConfigurationManager();
-        int streamIndex = config.getInt("general", "applicantStreamIndex");
-        rngs.selectStream(streamIndex);
-        boolean haRichiesteORifiutiRecenti = rngs.random() <= 0.1; // Problema più frequente
-        boolean haContrattoIndeterminato = rngs.random() <= 0.75; // Secondo problema più comune
-        boolean haAnzianitaDiLavoro = rngs.random() <= 0.84989; // Problema meno comune
-        boolean isRapportoRataRedditoOk = rngs.random() <= 0.889; // Problema raro
-        return new Applicant(streamIndex, haAnzianitaDiLavoro, isRapportoRataRedditoOk, haContrattoIndeterminato, haRichiesteORifiutiRecenti, entranceTime);
-    }
-
-    private Applicant(
-            int streamIndex,
-            boolean haAnzianitaDiLavoro,
-            boolean isRapportoRataRedditoOk,
-            boolean haContrattoIndeterminato,
-            boolean haRichiesteORifiutiRecenti,
-            double entranceTime) {
-        this(streamIndex, haAnzianitaDiLavoro, isRapportoRataRedditoOk, haContrattoIndeterminato, haRichiesteORifiutiRecenti, false, entranceTime);
-    }
-
-    private Applicant(
-            int streamIndex,
-            boolean haAnzianitaDiLavoro,
-            boolean isRapportoRataRedditoOk,
-            boolean haContrattoIndeterminato,
-            boolean haRichiesteORifiutiRecenti,
-            boolean haCorrispondenzaInBancaDati,
-            double entranceTime) {
-        this.streamIndex = streamIndex;
-        this.haAnzianitaDiLavoro = haAnzianitaDiLavoro;
-        this.isRapportoRataRedditoOk = isRapportoRataRedditoOk;
-        this.haContrattoIndeterminato = haContrattoIndeterminato;
-        this.haRichiesteORifiutiRecenti = haRichiesteORifiutiRecenti;
-        this.haCorrispondenzaInBancaDati = haCorrispondenzaInBancaDati;
-        this.entranceTime = entranceTime;
-    }
-
-    public boolean isAcceptedByPreScoring() {
-        return haAnzianitaDiLavoro
-                && isRapportoRataRedditoOk
-                && haContrattoIndeterminato
-                && !haRichiesteORifiutiRecenti;
-    }
+    static final int PROFILE_MASK = (1 << CHECKS) - 1;
+    static final int CORRISPONDENZA = 1 << CORRISPONDENZA_IN_BANCA_DATI;
+    private static final int PRE_SCORING_MASK = PROFILE_MASK;
+    private static final int PRE_SCORING_OK = (1 << CONTRATTO_INDETERMINATO) | (1 << ANZIANITA_DI_LAVORO) | (1 << RAPPORTO_RATA_REDDITO_OK);
 
-    public boolean isAcceptedBySysScoring() {
-        return haAnzianitaDiLavoro
-                && isRapportoRataRedditoOk
-                && haContrattoIndeterminato
-                && !haRichiesteORifiutiRecenti
-                && haCorrispondenzaInBancaDati;
-    }
+    // outcome 0 is "true"
+    private final RoutingTable[] checkTables;
+    // when not null, draws the whole profile at once: its outcome is the flags
+    private final RoutingTable profileTable;
+    private final RoutingTable corrispondenzaTable;
 
-    public boolean isAcceptedBySysScoring2() {
-        return haCorrispondenzaInBancaDati;
+    public Applicant(RoutingTable[] checkTables, RoutingTable profileTable, RoutingTable corrispondenzaTable) {
+        if (checkTables.length != CHECKS) {
+            throw new IllegalArgumentException("Expected %d check tables, got %d".formatted(CHECKS, checkTables.length));
+        }
+        this.checkTables = checkTables.clone();
+        this.profileTable = profileTable;
+        this.corrispondenzaTable = corrispondenzaTable;
     }
 
-    public Applicant feedback(Rngs rngs) {
-        rngs.selectStream(streamIndex);
-        return Applicant.create(rngs, entranceTime);
+    // flags of a new applicant: the four profile checks, no corrispondenza yet
+    public int draw(RngStream stream) {
+        if (profileTable != null) {
+            return profileTable.route(stream);
+        }
+        int flags = 0;
+        for (int k = 0; k < CHECKS; k++) {
+            if (checkTables[k].route(stream) == 0) {
+                flags |= 1 << k;
+            }
+        }
+        return flags;
     }
 
-    public Applicant improvedFeedback(Rngs rngs) {
-        rngs.selectStream(streamIndex);
-        boolean haCorrispondenza = rngs.random() <= P_C;
-        return copy(haCorrispondenza);
+    // flags with the corrispondenza in banca dati check drawn again
+    public int drawCorrispondenza(int flags, RngStream stream) {
+        boolean haCorrispondenza = corrispondenzaTable.route(stream) == 0;
+        return haCorrispondenza ? flags | CORRISPONDENZA : flags & ~CORRISPONDENZA;
     }
 
-    private Applicant copy(boolean haCorrispondenzaInBancaDati) {
-        return new Applicant(
-                streamIndex,
-                haAnzianitaDiLavoro,
-                isRapportoRataRedditoOk,
-                haContrattoIndeterminato,
-                haRichiesteORifiutiRecenti,
-                haCorrispondenzaInBancaDati,
-                entranceTime);
+    public static boolean isAcceptedByPreScoring(int flags) {
+        return (flags & PRE_SCORING_MASK) == PRE_SCORING_OK;
     }
 
-    public void setHasCorrispondenzaInBancaDati(Rngs rngs) {
-        haCorrispondenzaInBancaDati = rngs.random() <= P_C;
+    public static boolean isAcceptedBySysScoring(int flags) {
+        return isAcceptedByPreScoring(flags) && isAcceptedBySysScoring2(flags);
     }
 
-    public double getEntranceTime() {
-        return entranceTime;
+    public static boolean isAcceptedBySysScoring2(int flags) {
+        return (flags & CORRISPONDENZA) != 0;
     }
 }
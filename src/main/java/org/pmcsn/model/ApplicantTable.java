@@ -0,0 +1,111 @@
+package org.pmcsn.model;
+
+import org.pmcsn.libraries.RngStream;
+
+import java.util.Arrays;
+
+/*
+ * Struct-of-arrays store of the applicants in flight, indexed by job id: the
+ * Applicant flags in a byte column, the entrance time in a double column. Events
+ * and the centers' queues hold ids instead of objects.
+ *
+ * A job id can be held by more than one event at a time (a completion spawns the
+ * next center's arrival and may hand the same applicant to the next completion),
+ * so every holder takes a reference with share() and gives it back with release();
+ * the id is reused once the last reference is gone. Feedback re-draws the profile
+ * under a new id, leaving the other holders with the old flags.
+ */
+public class ApplicantTable {
+    public static final int NONE = -1;
+
+    private final Applicant applicant;
+
+    private byte[] flags = new byte[64];
+    private double[] entranceTime = new double[64];
+    private int[] references = new int[64];
+    private int[] free = new int[64];
+    private int freeCount = 0;
+    private int capacity = 0;
+    private int live = 0;
+
+    public ApplicantTable(Applicant applicant) {
+        this.applicant = applicant;
+    }
+
+    // new applicant with a freshly drawn profile, holding one reference
+    public int create(RngStream stream, double entranceTime) {
+        return add(applicant.draw(stream), entranceTime);
+    }
+
+    public int share(int id) {
+        if (id != NONE) {
+            references[id]++;
+        }
+        return id;
+    }
+
+    public void release(int id) {
+        if (id != NONE && --references[id] == 0) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount << 1);
+            }
+            free[freeCount++] = id;
+            live--;
+        }
+    }
+
+    // same applicant coming back with a new profile
+    public int feedback(int id, RngStream stream) {
+        return add(applicant.draw(stream), entranceTime[id]);
+    }
+
+    // same applicant coming back with only the corrispondenza in banca dati drawn again
+    public int improvedFeedback(int id, RngStream stream) {
+        return add(applicant.drawCorrispondenza(flags[id], stream), entranceTime[id]);
+    }
+
+    public void setHasCorrispondenzaInBancaDati(int id, RngStream stream) {
+        flags[id] = (byte) applicant.drawCorrispondenza(flags[id], stream);
+    }
+
+    public boolean isAcceptedByPreScoring(int id) {
+        return Applicant.isAcceptedByPreScoring(flags[id]);
+    }
+
+    public boolean isAcceptedBySysScoring(int id) {
+        return Applicant.isAcceptedBySysScoring(flags[id]);
+    }
+
+    public boolean isAcceptedBySysScoring2(int id) {
+        return Applicant.isAcceptedBySysScoring2(flags[id]);
+    }
+
+    public double getEntranceTime(int id) {
+        return entranceTime[id];
+    }
+
+    // applicants currently referenced
+    public int size() {
+        return live;
+    }
+
+    private int add(int applicantFlags, double time) {
+        int id;
+        if (freeCount > 0) {
+            id = free[--freeCount];
+        } else {
+            if (capacity == flags.length) {
+                int length = capacity << 1;
+                flags = Arrays.copyOf(flags, length);
+                entranceTime = Arrays.copyOf(entranceTime, length);
+                references = Arrays.copyOf(references, length);
+            }
+            id = capacity++;
+        }
+        flags[id] = (byte) applicantFlags;
+        entranceTime[id] = time;
+        references[id] = 1;
+        live++;
+        return id;
+    }
+}
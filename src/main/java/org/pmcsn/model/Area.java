@@ -1,37 +1,33 @@
 package org.pmcsn.model;
 
+// one center's slot in an AreaAccumulator
 public class Area {
-    private double nodeArea = 0.0;
-    private double queueArea = 0.0;
-    private double serviceArea = 0.0;
+    private final AreaAccumulator areas;
+    private final int slot;
 
-    public double getNodeArea() {
-        return nodeArea;
+    Area(AreaAccumulator areas, int slot) {
+        this.areas = areas;
+        this.slot = slot;
     }
 
-    public void incNodeArea(double area) {
-        nodeArea += area;
+    public double getNodeArea() {
+        return areas.nodeArea(slot);
     }
 
     public double getQueueArea() {
-        return queueArea;
-    }
-
-    public void incQueueArea(double area) {
-        queueArea += area;
+        return areas.queueArea(slot);
     }
 
     public double getServiceArea() {
-        return serviceArea;
+        return areas.serviceArea(slot);
     }
 
-    public void incServiceArea(double area) {
-        serviceArea += area;
+    // populations from now until the next change
+    public void setPopulation(double node, double queue, double service) {
+        areas.setPopulation(slot, node, queue, service);
     }
 
     public void reset() {
-        nodeArea = 0.0;
-        queueArea = 0.0;
-        serviceArea = 0.0;
+        areas.reset(slot);
     }
 }
@@ -0,0 +1,122 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+/*
+ * Time-weighted population integrals of every center of a simulation, kept in
+ * primitive columns indexed by the center's slot. Centers record their node, queue
+ * and service populations whenever they change; the runner advances the clock once
+ * per event, with no call into the centers. Each center reads and resets its own
+ * slot through the Area handle it got from register().
+ *
+ *   EAGER  every advance integrates all slots over the elapsed interval: O(#centers)
+ *          per event, the same sums as the per-center setArea always produced.
+ *   LAZY   every slot remembers when it was last integrated and catches up only
+ *          when its population changes or its areas are read or reset: O(1) per
+ *          event. One product per constant stretch instead of one per event, so
+ *          the areas agree with EAGER up to rounding, not bit for bit.
+ */
+public class AreaAccumulator {
+    public enum Type {
+        EAGER,
+        LAZY
+    }
+
+    private final boolean lazy;
+    private double[] nodeArea = new double[8];
+    private double[] queueArea = new double[8];
+    private double[] serviceArea = new double[8];
+    private double[] nodePopulation = new double[8];
+    private double[] queuePopulation = new double[8];
+    private double[] servicePopulation = new double[8];
+    private double[] lastUpdateTime = new double[8];
+    private double now = 0;
+    private int size = 0;
+
+    public AreaAccumulator() {
+        this(Type.EAGER);
+    }
+
+    public AreaAccumulator(Type type) {
+        this.lazy = type == Type.LAZY;
+    }
+
+    public Area register() {
+        if (size == nodeArea.length) {
+            int length = size << 1;
+            nodeArea = Arrays.copyOf(nodeArea, length);
+            queueArea = Arrays.copyOf(queueArea, length);
+            serviceArea = Arrays.copyOf(serviceArea, length);
+            nodePopulation = Arrays.copyOf(nodePopulation, length);
+            queuePopulation = Arrays.copyOf(queuePopulation, length);
+            servicePopulation = Arrays.copyOf(servicePopulation, length);
+            lastUpdateTime = Arrays.copyOf(lastUpdateTime, length);
+        }
+        lastUpdateTime[size] = now;
+        return new Area(this, size++);
+    }
+
+    // clock origin of a new run, set before the centers are reset
+    public void start(double time) {
+        now = time;
+        Arrays.fill(lastUpdateTime, 0, size, time);
+    }
+
+    // the populations held from current to next
+    public void advance(double current, double next) {
+        if (lazy) {
+            now = next;
+            return;
+        }
+        double width = next - current;
+        for (int i = 0; i < size; i++) {
+            nodeArea[i] += width * nodePopulation[i];
+            queueArea[i] += width * queuePopulation[i];
+            serviceArea[i] += width * servicePopulation[i];
+        }
+        now = next;
+    }
+
+    void setPopulation(int slot, double node, double queue, double service) {
+        catchUp(slot);
+        nodePopulation[slot] = node;
+        queuePopulation[slot] = queue;
+        servicePopulation[slot] = service;
+    }
+
+    double nodeArea(int slot) {
+        catchUp(slot);
+        return nodeArea[slot];
+    }
+
+    double queueArea(int slot) {
+        catchUp(slot);
+        return queueArea[slot];
+    }
+
+    double serviceArea(int slot) {
+        catchUp(slot);
+        return serviceArea[slot];
+    }
+
+    void reset(int slot) {
+        nodeArea[slot] = 0.0;
+        queueArea[slot] = 0.0;
+        serviceArea[slot] = 0.0;
+        lastUpdateTime[slot] = now;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void catchUp(int slot) {
+        if (lazy && lastUpdateTime[slot] != now) {
+            double width = now - lastUpdateTime[slot];
+            nodeArea[slot] += width * nodePopulation[slot];
+            queueArea[slot] += width * queuePopulation[slot];
+            serviceArea[slot] += width * servicePopulation[slot];
+            lastUpdateTime[slot] = now;
+        }
+    }
+}
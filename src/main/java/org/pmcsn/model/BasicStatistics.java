@@ -1,26 +1,21 @@
 package org.pmcsn.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class BasicStatistics extends AbstractStatistics {
 
-    List<Double> probAccept;
-    List<Double> jobServed;
-    private final List<Double> busyTimeList = new ArrayList<>();
+    final MetricAccumulator probAccept = new MetricAccumulator(true);
+    final MetricAccumulator jobServed = new MetricAccumulator(true);
+    private final MetricAccumulator busyTime = new MetricAccumulator(true);
 
     public BasicStatistics(String centerName) {
         super(centerName);
-        probAccept = new ArrayList<>();
-        jobServed = new ArrayList<>();
     }
 
     @Override
-    void add(Index index, List<Double> list, double value) {
-        list.add(value);
+    void add(Index index, MetricAccumulator metric, double value) {
+        metric.add(value);
     }
 
-    public List<Double> getProbAccept() {
+    public MetricAccumulator getProbAccept() {
         return probAccept;
     }
 
@@ -28,7 +23,7 @@ public class BasicStatistics extends AbstractStatistics {
         this.probAccept.add(probAccept);
     }
 
-    public List<Double> getJobServed() {
+    public MetricAccumulator getJobServed() {
         return jobServed;
     }
 
@@ -37,10 +32,26 @@ public class BasicStatistics extends AbstractStatistics {
     }
 
     public void addBusyTime(double value) {
-        busyTimeList.add(value);
+        busyTime.add(value);
+    }
+
+    // merges the runs of a replication executed on another copy of the center, in order
+    public void append(BasicStatistics other) {
+        appendAll(other);
+        probAccept.append(other.probAccept);
+        jobServed.append(other.jobServed);
+        busyTime.append(other.busyTime);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        probAccept.close();
+        jobServed.close();
+        busyTime.close();
     }
 
     public double getMeanBusyTime() {
-        return busyTimeList.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+        return busyTime.getMean();
     }
 }
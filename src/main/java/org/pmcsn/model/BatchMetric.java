@@ -1,14 +1,12 @@
 package org.pmcsn.model;
 
-import java.util.List;
-
 // Helper class to hold metric name, values, and ACF value
 public class BatchMetric {
     public String name;
-    public List<Double> values;
+    public MetricAccumulator values;
     public double acfValue;
 
-    public BatchMetric(String name, List<Double> values) {
+    public BatchMetric(String name, MetricAccumulator values) {
         this.name = name;
         this.values = values;
     }
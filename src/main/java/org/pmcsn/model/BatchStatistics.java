@@ -1,24 +1,89 @@
 package org.pmcsn.model;
 
-import java.util.List;
+import org.pmcsn.configuration.GeneralConfiguration;
 
+import static org.pmcsn.utils.PrintUtils.printDebug;
+import static org.pmcsn.utils.PrintUtils.printWarning;
+
+/*
+ * Batch means of one center. The batch size is chosen with general.batchSizing:
+ *
+ *   FIXED   batches of the configured batchSize, as always.
+ *   LBATCH  batches start at initialBatchSize. Every time numBatches of them have
+ *           been collected, the lag-1 autocorrelation of each metric is tested:
+ *           if all are within acfThreshold the batches are kept, otherwise
+ *           adjacent batches are merged in place and collection goes on with
+ *           twice the batch size, up to maxBatchSize.
+ *
+ * Centers close a batch every getBatchSize() served jobs, so they must read it
+ * again after every saveStats().
+ */
 public class BatchStatistics extends AbstractStatistics {
+    public enum Sizing {
+        FIXED,
+        LBATCH
+    }
+
     private int batchRetrievalDone = 0;
     private final int numBatches;
+    private int batchSize;
+    private final LBatchMeans batches;
+    private final double acfThreshold;
+    private final int maxBatchSize;
 
-    public BatchStatistics(String centerName, int numBatches) {
+    public BatchStatistics(String centerName, int numBatches, int batchSize, GeneralConfiguration general) {
         super(centerName);
         this.numBatches = numBatches;
+        if (Sizing.valueOf(general.batchSizing) == Sizing.LBATCH) {
+            this.batchSize = general.initialBatchSize;
+            this.batches = new LBatchMeans(numBatches);
+        } else {
+            this.batchSize = batchSize;
+            this.batches = null;
+        }
+        this.acfThreshold = general.acfThreshold;
+        this.maxBatchSize = general.maxBatchSize;
     }
 
     @Override
-    void add(Index index, List<Double> list, double value) {
-        list.add(value);
-        if(list.size() >= numBatches) {
+    void add(Index index, MetricAccumulator metric, double value) {
+        metric.add(value);
+        if(metric.size() >= numBatches) {
             batchRetrievalDone++;
         }
     }
 
+    @Override
+    public void saveStats(double nodeArea, double queueArea, double serviceArea, MsqSum[] sum, double lastArrivalTime, double lastCompletionTime, boolean isMultiServer, double currentBatchStartTime) {
+        if (batches == null) {
+            super.saveStats(nodeArea, queueArea, serviceArea, sum, lastArrivalTime, lastCompletionTime, isMultiServer, currentBatchStartTime);
+            return;
+        }
+        batches.add(nodeArea, queueArea, serviceArea, sum, lastArrivalTime, lastCompletionTime, isMultiServer, currentBatchStartTime);
+        if (!batches.isFull()) {
+            return;
+        }
+        double acf = batches.maxAcf();
+        if (acf <= acfThreshold) {
+            printDebug("%s: batch size %d accepted, max |lag-1 ACF| %.4f".formatted(getCenterName(), batchSize, acf));
+            batches.saveTo(this::saveBatch);
+        } else if (2L * batchSize > maxBatchSize) {
+            printWarning("%s: max |lag-1 ACF| %.4f still above %.2f at the largest batch size %d".formatted(getCenterName(), acf, acfThreshold, batchSize));
+            batches.saveTo(this::saveBatch);
+        } else {
+            batches.merge();
+            batchSize *= 2;
+        }
+    }
+
+    private void saveBatch(double nodeArea, double queueArea, double serviceArea, MsqSum[] sum, double lastArrivalTime, double lastCompletionTime, boolean isMultiServer, double currentBatchStartTime) {
+        super.saveStats(nodeArea, queueArea, serviceArea, sum, lastArrivalTime, lastCompletionTime, isMultiServer, currentBatchStartTime);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     public boolean isBatchRetrievalDone() {
         return batchRetrievalDone == 7;
     }
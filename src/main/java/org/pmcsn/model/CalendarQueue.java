@@ -0,0 +1,252 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+/*
+ * Calendar queue (R. Brown, "Calendar Queues: A Fast O(1) Priority Queue
+ * Implementation for the Simulation Event Set Problem", CACM 1988).
+ *
+ * Time is split into "days" of length width; day d lives in bucket d mod nBuckets
+ * and every bucket keeps its events in a list sorted by (time, insertion order).
+ * Dequeue walks the calendar one day at a time starting from the day of the last
+ * dequeued event, so with a well chosen width it touches O(1) buckets. The number
+ * of buckets follows the population (doubled above 2 events per bucket, halved
+ * below 1/2) and every resize re-estimates the width from the spacing of the most
+ * imminent events. Events with the same time come out in insertion order.
+ *
+ * Nodes are kept in parallel primitive arrays and recycled through a free list,
+ * so steady-state operation allocates nothing.
+ */
+public class CalendarQueue implements EventList {
+    private static final int MIN_BUCKETS = 8;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int WIDTH_SAMPLE = 25;
+    private static final int NIL = -1;
+
+    // node storage
+    private double[] time;
+    private long[] order;
+    private long[] day;
+    private int[] next;
+    private MsqEvent[] events;
+    private int freeHead;
+
+    // calendar
+    private int[] buckets;
+    private int mask;
+    private double width = 1.0;
+    private long currentDay = 0;
+    private double lastTime = 0.0;
+
+    private int size = 0;
+    private long sequence = 0;
+    private final double[] sample = new double[WIDTH_SAMPLE];
+    private final int[] sampleNodes = new int[WIDTH_SAMPLE];
+
+    public CalendarQueue() {
+        time = new double[INITIAL_CAPACITY];
+        order = new long[INITIAL_CAPACITY];
+        day = new long[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        events = new MsqEvent[INITIAL_CAPACITY];
+        linkFree(0, INITIAL_CAPACITY);
+        buckets = new int[MIN_BUCKETS];
+        Arrays.fill(buckets, NIL);
+        mask = MIN_BUCKETS - 1;
+    }
+
+    @Override
+    public void add(MsqEvent event) {
+        int node = allocate();
+        events[node] = event;
+        time[node] = event.time;
+        order[node] = sequence++;
+        insert(node);
+        size++;
+        if (size > 2 * buckets.length) {
+            resize(buckets.length << 1);
+        }
+    }
+
+    @Override
+    public MsqEvent peek() {
+        if (size == 0) {
+            return null;
+        }
+        return events[findFirst()];
+    }
+
+    @Override
+    public MsqEvent poll() {
+        if (size == 0) {
+            return null;
+        }
+        int node = removeFirst();
+        MsqEvent event = events[node];
+        release(node);
+        size--;
+        if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+            resize(buckets.length >> 1);
+        }
+        return event;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    public double getBucketWidth() {
+        return width;
+    }
+
+    // links the node into its bucket, keeping the bucket sorted by (time, order)
+    private void insert(int node) {
+        double t = time[node];
+        long d = (long) (t / width);
+        day[node] = d;
+        if (t < lastTime) {
+            // scheduled in the past of the calendar position: restart the walk from its day
+            lastTime = t;
+        }
+        if (d < currentDay) {
+            // a peek may have moved the calendar past the day of this event
+            currentDay = d;
+        }
+        int b = (int) (d & mask);
+        int prev = NIL;
+        int cur = buckets[b];
+        long o = order[node];
+        while (cur != NIL && (time[cur] < t || (time[cur] == t && order[cur] < o))) {
+            prev = cur;
+            cur = next[cur];
+        }
+        next[node] = cur;
+        if (prev == NIL) {
+            buckets[b] = node;
+        } else {
+            next[prev] = node;
+        }
+    }
+
+    // positions the calendar on the day of the most imminent event and returns its node
+    private int findFirst() {
+        long d = currentDay;
+        for (int i = 0; i < buckets.length; i++, d++) {
+            int head = buckets[(int) (d & mask)];
+            if (head != NIL && day[head] <= d) {
+                currentDay = d;
+                return head;
+            }
+        }
+        // nothing within a whole year: direct search among the bucket heads
+        int min = NIL;
+        for (int head : buckets) {
+            if (head != NIL && (min == NIL || time[head] < time[min]
+                    || (time[head] == time[min] && order[head] < order[min]))) {
+                min = head;
+            }
+        }
+        currentDay = day[min];
+        return min;
+    }
+
+    private int removeFirst() {
+        int node = findFirst();
+        int b = (int) (currentDay & mask);
+        buckets[b] = next[node];
+        lastTime = time[node];
+        return node;
+    }
+
+    private void resize(int bucketCount) {
+        double newWidth = estimateWidth();
+        int[] oldBuckets = buckets;
+        buckets = new int[bucketCount];
+        Arrays.fill(buckets, NIL);
+        mask = bucketCount - 1;
+        width = newWidth;
+        currentDay = (long) (lastTime / width);
+        for (int head : oldBuckets) {
+            int cur = head;
+            while (cur != NIL) {
+                int following = next[cur];
+                insert(cur);
+                cur = following;
+            }
+        }
+    }
+
+    // Brown's heuristic: three times the average separation of the most imminent
+    // events, ignoring separations larger than twice the plain average
+    private double estimateWidth() {
+        int n = Math.min(size, WIDTH_SAMPLE);
+        if (n < 2) {
+            return width;
+        }
+        double savedLastTime = lastTime;
+        long savedDay = currentDay;
+        for (int i = 0; i < n; i++) {
+            sampleNodes[i] = removeFirst();
+            sample[i] = time[sampleNodes[i]];
+        }
+        // put the sampled events back, they keep their original insertion order
+        for (int i = 0; i < n; i++) {
+            insert(sampleNodes[i]);
+        }
+        lastTime = savedLastTime;
+        currentDay = savedDay;
+
+        double average = (sample[n - 1] - sample[0]) / (n - 1);
+        double sum = 0.0;
+        int count = 0;
+        for (int i = 1; i < n; i++) {
+            double separation = sample[i] - sample[i - 1];
+            if (separation <= 2.0 * average) {
+                sum += separation;
+                count++;
+            }
+        }
+        double estimate = count > 0 ? 3.0 * sum / count : 0.0;
+        return estimate > 0.0 ? estimate : width;
+    }
+
+    private int allocate() {
+        if (freeHead == NIL) {
+            int oldCapacity = time.length;
+            int capacity = oldCapacity << 1;
+            time = Arrays.copyOf(time, capacity);
+            order = Arrays.copyOf(order, capacity);
+            day = Arrays.copyOf(day, capacity);
+            next = Arrays.copyOf(next, capacity);
+            events = Arrays.copyOf(events, capacity);
+            linkFree(oldCapacity, capacity);
+        }
+        int node = freeHead;
+        freeHead = next[node];
+        return node;
+    }
+
+    private void release(int node) {
+        events[node] = null;
+        next[node] = freeHead;
+        freeHead = node;
+    }
+
+    private void linkFree(int from, int to) {
+        for (int i = from; i < to - 1; i++) {
+            next[i] = i + 1;
+        }
+        next[to - 1] = NIL;
+        freeHead = from;
+    }
+}
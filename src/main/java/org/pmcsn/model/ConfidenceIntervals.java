@@ -1,10 +1,8 @@
 package org.pmcsn.model;
 
-import org.pmcsn.configuration.ConfigurationManager;
+import org.pmcsn.configuration.GeneralConfiguration;
 import org.pmcsn.libraries.Rvms;
 
-import java.util.List;
-
 public class ConfidenceIntervals {
     public double responseTimeCI;
     public double queueTimeCI;
@@ -14,16 +12,16 @@ public class ConfidenceIntervals {
     public double utilizationCI;
     public double lambdaCI;
 
-    public ConfidenceIntervals(List<Double> meanResponseTimeList, List<Double> meanQueueTimeList, List<Double> meanServiceTimeList,
-                               List<Double> meanSystemPopulationList, List<Double> meanQueuePopulationList,
-                               List<Double> meanUtilizationList, List<Double> lambdaList) {
-        this.responseTimeCI = computeConfidenceInterval(meanResponseTimeList);
-        this.queueTimeCI = computeConfidenceInterval(meanQueueTimeList);
-        this.serviceTimeCI = computeConfidenceInterval(meanServiceTimeList);
-        this.systemPopulationCI = computeConfidenceInterval(meanSystemPopulationList);
-        this.queuePopulationCI = computeConfidenceInterval(meanQueuePopulationList);
-        this.utilizationCI = computeConfidenceInterval(meanUtilizationList);
-        this.lambdaCI = computeConfidenceInterval(lambdaList);
+    public ConfidenceIntervals(MetricAccumulator meanResponseTime, MetricAccumulator meanQueueTime, MetricAccumulator meanServiceTime,
+                               MetricAccumulator meanSystemPopulation, MetricAccumulator meanQueuePopulation,
+                               MetricAccumulator meanUtilization, MetricAccumulator lambda) {
+        this.responseTimeCI = computeConfidenceInterval(meanResponseTime);
+        this.queueTimeCI = computeConfidenceInterval(meanQueueTime);
+        this.serviceTimeCI = computeConfidenceInterval(meanServiceTime);
+        this.systemPopulationCI = computeConfidenceInterval(meanSystemPopulation);
+        this.queuePopulationCI = computeConfidenceInterval(meanQueuePopulation);
+        this.utilizationCI = computeConfidenceInterval(meanUtilization);
+        this.lambdaCI = computeConfidenceInterval(lambda);
     }
 
     public double getResponseTimeCI() {
@@ -55,27 +53,17 @@ public class ConfidenceIntervals {
     }
 
 
-    public static double computeConfidenceInterval(List<Double> values) {
-        long n = 0; /* counts data points */
-        double sum = 0.0;
-        double mean = 0.0;
-        double stdev;
+    public static double computeConfidenceInterval(MetricAccumulator values) {
+        return computeConfidenceInterval(values.size(), values.getStandardDeviation());
+    }
+
+    // half width from n values with the given (population) standard deviation
+    public static double computeConfidenceInterval(long n, double stdev) {
         double u, t, w = 0.0;
-        double diff;
 
         Rvms rvms = new Rvms();
 
-        for (Double data : values) {
-            n++; /* and standard deviation */
-            diff = data - mean;
-            sum += diff * diff * (n - 1.0) / n;
-            mean += diff / n;
-        }
-
-        stdev = Math.sqrt(sum / n);
-
-        ConfigurationManager configurationManager = new ConfigurationManager();
-        double levelOfConfidence = configurationManager.getDouble("general", "levelOfConfidence");
+        double levelOfConfidence = GeneralConfiguration.get().levelOfConfidence;
         if (n > 1) {
             u = 1.0 - 0.5 * (1.0 - levelOfConfidence); /* interval parameter */
             t = rvms.idfStudent(n - 1, u); /* critical value of t */
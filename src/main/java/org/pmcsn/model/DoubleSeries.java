@@ -0,0 +1,55 @@
+package org.pmcsn.model;
+
+import org.pmcsn.configuration.GeneralConfiguration;
+
+/*
+ * Append-only series of primitive doubles, for the raw values the simulations keep
+ * (Welch observations, per-run and per-batch metric values), chosen with
+ * general.seriesStorage:
+ *
+ *   HEAP    a growable double[]: 8 bytes a value instead of a boxed Double and
+ *           its list slot.
+ *   MAPPED  chunks of a memory-mapped temporary file shared by all the series
+ *           (MappedArena): the values stay off the Java heap and the OS pages
+ *           them out when memory is short, for runs too long to keep in the heap.
+ *
+ * close() gives the storage back once the values are no longer needed (the
+ * chunks of a MAPPED series go back to the arena for the next series).
+ */
+public interface DoubleSeries extends AutoCloseable {
+    enum Type {
+        HEAP,
+        MAPPED
+    }
+
+    void add(double value);
+
+    double get(int index);
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // forgets the values, keeping the storage for the next ones
+    void clear();
+
+    double[] toArray();
+
+    // the series must not be used afterwards
+    @Override
+    default void close() {
+    }
+
+    static DoubleSeries create() {
+        return create(Type.valueOf(GeneralConfiguration.get().seriesStorage));
+    }
+
+    static DoubleSeries create(Type type) {
+        return switch (type) {
+            case HEAP -> new HeapDoubleSeries();
+            case MAPPED -> new MappedDoubleSeries();
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+/*
+ * 4-ary min-heap of events keyed by time. The heap only moves primitive keys
+ * (time, insertion order, slot) around; the MsqEvent payloads stay in a side
+ * table indexed by slot. Events with the same time come out in insertion order.
+ */
+public class EventHeap implements EventList {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] time;
+    private long[] order;
+    private int[] slot;
+    private MsqEvent[] events;
+    private int[] freeSlots;
+    private int freeCount;
+    private int size = 0;
+    private long sequence = 0;
+
+    public EventHeap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public EventHeap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        time = new double[capacity];
+        order = new long[capacity];
+        slot = new int[capacity];
+        events = new MsqEvent[capacity];
+        freeSlots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    @Override
+    public void add(MsqEvent event) {
+        if (size == time.length) {
+            grow();
+        }
+        int s = freeSlots[--freeCount];
+        events[s] = event;
+        siftUp(size++, event.time, sequence++, s);
+    }
+
+    @Override
+    public MsqEvent peek() {
+        return size == 0 ? null : events[slot[0]];
+    }
+
+    @Override
+    public MsqEvent poll() {
+        if (size == 0) {
+            return null;
+        }
+        int s = slot[0];
+        MsqEvent event = events[s];
+        events[s] = null;
+        freeSlots[freeCount++] = s;
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, time[last], order[last], slot[last]);
+        }
+        return event;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void siftUp(int k, double t, long o, int s) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 2;
+            double pt = time[parent];
+            if (t > pt || (t == pt && o > order[parent])) {
+                break;
+            }
+            time[k] = pt;
+            order[k] = order[parent];
+            slot[k] = slot[parent];
+            k = parent;
+        }
+        time[k] = t;
+        order[k] = o;
+        slot[k] = s;
+    }
+
+    private void siftDown(int k, double t, long o, int s) {
+        int n = size;
+        int first;
+        while ((first = (k << 2) + 1) < n) {
+            // find the smallest among the (up to) four children
+            int min = first;
+            double mt = time[first];
+            int end = Math.min(first + 4, n);
+            for (int c = first + 1; c < end; c++) {
+                double ct = time[c];
+                if (ct < mt || (ct == mt && order[c] < order[min])) {
+                    min = c;
+                    mt = ct;
+                }
+            }
+            if (t < mt || (t == mt && o < order[min])) {
+                break;
+            }
+            time[k] = mt;
+            order[k] = order[min];
+            slot[k] = slot[min];
+            k = min;
+        }
+        time[k] = t;
+        order[k] = o;
+        slot[k] = s;
+    }
+
+    private void grow() {
+        int oldCapacity = time.length;
+        int capacity = oldCapacity << 1;
+        time = Arrays.copyOf(time, capacity);
+        order = Arrays.copyOf(order, capacity);
+        slot = Arrays.copyOf(slot, capacity);
+        events = Arrays.copyOf(events, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        // the heap is full when growing, so every new slot is free
+        for (int i = capacity - 1; i >= oldCapacity; i--) {
+            freeSlots[freeCount++] = i;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.pmcsn.model;
+
+// A single lane of the event list: events come out ordered by time, ties in insertion order.
+public interface EventList {
+    enum Type {
+        HEAP,
+        CALENDAR
+    }
+
+    void add(MsqEvent event);
+
+    MsqEvent peek();
+
+    MsqEvent poll();
+
+    int size();
+
+    boolean isEmpty();
+
+    static EventList create(Type type) {
+        return switch (type) {
+            case HEAP -> new EventHeap();
+            case CALENDAR -> new CalendarQueue();
+        };
+    }
+}
@@ -1,15 +1,21 @@
 package org.pmcsn.model;
 
-import java.util.AbstractCollection;
-import java.util.Comparator;
-import java.util.List;
-import java.util.PriorityQueue;
-
 public class EventQueue {
-    private static final Comparator<MsqEvent> CMP = Comparator.comparingDouble(o -> o.time);
+    private final EventList[] priority;
+    protected final EventList noPriority;
+    private final MsqEventPool pool = new MsqEventPool();
+    // applicants of the jobs in flight, events carry their ids
+    public final ApplicantTable applicants;
+
+    public EventQueue(Applicant applicant) {
+        this(EventList.Type.HEAP, applicant);
+    }
 
-    private final List<PriorityQueue<MsqEvent>> priority = List.of(new PriorityQueue<>(CMP), new PriorityQueue<>(CMP));
-    protected final PriorityQueue<MsqEvent> noPriority = new PriorityQueue<>(CMP);
+    public EventQueue(EventList.Type type, Applicant applicant) {
+        this.applicants = new ApplicantTable(applicant);
+        this.priority = new EventList[]{EventList.create(type), EventList.create(type)};
+        this.noPriority = EventList.create(type);
+    }
 
     public void add(MsqEvent event) {
         noPriority.add(event);
@@ -17,18 +23,37 @@ public class EventQueue {
 
     public void addPriority(MsqEvent event) {
         if (event.hasPriority) {
-            priority.getFirst().add(event);
+            priority[0].add(event);
         } else {
-            priority.getLast().add(event);
+            priority[1].add(event);
         }
     }
 
+    // events are taken from the queue's pool; hand them back with recycle() once processed
+    public MsqEvent newEvent(EventType type, double time) {
+        return pool.obtain(type, time, 0, 0, 0, false);
+    }
+
+    public MsqEvent newEvent(EventType type, double time, double service) {
+        return pool.obtain(type, time, service, 0, 0, false);
+    }
+
+    public MsqEvent newEvent(EventType type, double time, double service, int serverId) {
+        return pool.obtain(type, time, service, serverId, 0, false);
+    }
+
+    // also drops the event's reference to its applicant
+    public void recycle(MsqEvent event) {
+        applicants.release(event.applicant);
+        pool.release(event);
+    }
+
     public boolean isEmpty() {
-        return noPriority.isEmpty() && priority.stream().allMatch(AbstractCollection::isEmpty);
+        return noPriority.isEmpty() && priority[0].isEmpty() && priority[1].isEmpty();
     }
 
     public int size() {
-        return noPriority.size() + priority.stream().mapToInt(AbstractCollection::size).sum();
+        return noPriority.size() + priority[0].size() + priority[1].size();
     }
 
     // returns the event with the smallest time among ALL queues and removes it
@@ -50,8 +75,8 @@ public class EventQueue {
     }
 
     // returns the event with the smallest time without removing it
-    private MsqEvent peek(List<PriorityQueue<MsqEvent>> priorityQueues) {
-        for (PriorityQueue<MsqEvent> queue : priorityQueues) {
+    private MsqEvent peek(EventList[] priorityQueues) {
+        for (EventList queue : priorityQueues) {
             if (!queue.isEmpty()) {
                 return queue.peek();
             }
@@ -60,8 +85,8 @@ public class EventQueue {
     }
 
     // returns the event with the smallest time among all the priority queues and removes it
-    private MsqEvent poll(List<PriorityQueue<MsqEvent>> priorityQueues) {
-        for (PriorityQueue<MsqEvent> queue : priorityQueues) {
+    private MsqEvent poll(EventList[] priorityQueues) {
+        for (EventList queue : priorityQueues) {
             if (!queue.isEmpty()) {
                 return queue.poll();
             }
@@ -10,6 +10,5 @@ public enum EventType {
     ARRIVAL_COMITATO_CREDITO,
     COMPLETION_COMITATO_CREDITO,
     ARRIVAL_REPARTO_LIQUIDAZIONI,
-    COMPLETION_REPARTO_LIQUIDAZIONI,
-    SAVE_STAT
+    COMPLETION_REPARTO_LIQUIDAZIONI
 }
@@ -0,0 +1,39 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+class HeapDoubleSeries implements DoubleSeries {
+    private double[] values = new double[16];
+    private int size = 0;
+
+    @Override
+    public void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        values[size++] = value;
+    }
+
+    @Override
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,114 @@
+package org.pmcsn.model;
+
+import java.util.List;
+
+/*
+ * Fixed-size store of the raw sums of the batches of one center: areas, per-server
+ * service sums, batch start and last arrival/completion times. Metrics are only
+ * computed from the sums, so merging two adjacent batches in place gives exactly
+ * the batch a size twice as large would have produced.
+ */
+class LBatchMeans {
+    interface Sink {
+        void save(double nodeArea, double queueArea, double serviceArea, MsqSum[] sum, double lastArrivalTime, double lastCompletionTime, boolean isMultiServer, double startTime);
+    }
+
+    private final int capacity;
+    private final double[] nodeArea;
+    private final double[] queueArea;
+    private final double[] serviceArea;
+    private final double[] startTime;
+    private final double[] lastArrivalTime;
+    private final double[] lastCompletionTime;
+    private final MsqSum[][] sums;
+    private boolean isMultiServer;
+    private int count = 0;
+
+    LBatchMeans(int capacity) {
+        if (capacity < 2 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("LBATCH needs an even number of batches: " + capacity);
+        }
+        this.capacity = capacity;
+        nodeArea = new double[capacity];
+        queueArea = new double[capacity];
+        serviceArea = new double[capacity];
+        startTime = new double[capacity];
+        lastArrivalTime = new double[capacity];
+        lastCompletionTime = new double[capacity];
+        sums = new MsqSum[capacity][];
+    }
+
+    void add(double node, double queue, double service, MsqSum[] sum, double lastArrival, double lastCompletion, boolean isMultiServer, double start) {
+        if (sums[count] == null) {
+            sums[count] = new MsqSum[sum.length];
+            for (int s = 0; s < sum.length; s++) {
+                sums[count][s] = new MsqSum();
+            }
+        }
+        nodeArea[count] = node;
+        queueArea[count] = queue;
+        serviceArea[count] = service;
+        startTime[count] = start;
+        lastArrivalTime[count] = lastArrival;
+        lastCompletionTime[count] = lastCompletion;
+        for (int s = 0; s < sum.length; s++) {
+            sums[count][s].service = sum[s].service;
+            sums[count][s].served = sum[s].served;
+        }
+        this.isMultiServer = isMultiServer;
+        count++;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    // batch i becomes the union of batches 2i and 2i + 1
+    void merge() {
+        for (int i = 0; i < capacity / 2; i++) {
+            int a = 2 * i;
+            int b = a + 1;
+            nodeArea[i] = nodeArea[a] + nodeArea[b];
+            queueArea[i] = queueArea[a] + queueArea[b];
+            serviceArea[i] = serviceArea[a] + serviceArea[b];
+            startTime[i] = startTime[a];
+            lastArrivalTime[i] = lastArrivalTime[b];
+            lastCompletionTime[i] = lastCompletionTime[b];
+            for (int s = 0; s < sums[i].length; s++) {
+                sums[i][s].service = sums[a][s].service + sums[b][s].service;
+                sums[i][s].served = sums[a][s].served + sums[b][s].served;
+            }
+        }
+        count = capacity / 2;
+    }
+
+    // hands every stored batch, in order, to the sink
+    void saveTo(Sink sink) {
+        for (int i = 0; i < count; i++) {
+            sink.save(nodeArea[i], queueArea[i], serviceArea[i], sums[i],
+                    lastArrivalTime[i], lastCompletionTime[i], isMultiServer, startTime[i]);
+        }
+    }
+
+    // largest |lag-1 autocorrelation| over the metrics of the stored batches
+    double maxAcf() {
+        AbstractStatistics probe = new AbstractStatistics("", false) {
+            @Override
+            void add(Index index, MetricAccumulator metric, double value) {
+                metric.add(value);
+            }
+        };
+        saveTo(probe::saveStats);
+        double max = 0;
+        for (MetricAccumulator values : List.of(
+                probe.meanResponseTime, probe.meanQueueTime, probe.meanServiceTime,
+                probe.meanSystemPopulation, probe.meanQueuePopulation, probe.meanUtilization, probe.lambda)) {
+            double acf = Math.abs(values.getAcf());
+            // a constant metric (e.g. no queue at an infinite server) has no autocorrelation
+            if (!Double.isNaN(acf)) {
+                max = Math.max(max, acf);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,74 @@
+package org.pmcsn.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/*
+ * The one memory-mapped temporary file every MAPPED series takes its chunks from:
+ * a single file descriptor for the whole process, opened on the first chunk and
+ * unlinked as soon as it is open (the mappings keep its pages alive). The file is
+ * mapped a REGION at a time and cut into small chunks, so the many series holding
+ * a handful of values (one per run) share mappings. Closed series give their
+ * chunks back and the next ones reuse them: the file and the number of mappings
+ * only grow with the values alive at the same time.
+ */
+final class MappedArena {
+    static final int SHIFT = 10;
+    static final int CHUNK = 1 << SHIFT;
+    static final int MASK = CHUNK - 1;
+    private static final int CHUNK_BYTES = CHUNK * Double.BYTES;
+    private static final int CHUNKS_PER_REGION = 1 << 10;
+
+    private static final MappedArena INSTANCE = new MappedArena();
+
+    private FileChannel channel;
+    private long mappedRegions = 0;
+    private MappedByteBuffer region;
+    private int nextChunk = CHUNKS_PER_REGION;
+    private final ArrayDeque<DoubleBuffer> free = new ArrayDeque<>();
+
+    private MappedArena() {
+    }
+
+    static MappedArena get() {
+        return INSTANCE;
+    }
+
+    synchronized DoubleBuffer acquire() {
+        DoubleBuffer chunk = free.poll();
+        if (chunk != null) {
+            return chunk;
+        }
+        if (nextChunk == CHUNKS_PER_REGION) {
+            region = mapRegion();
+            nextChunk = 0;
+        }
+        return region.slice(CHUNK_BYTES * nextChunk++, CHUNK_BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    synchronized void release(DoubleBuffer chunk) {
+        free.push(chunk);
+    }
+
+    private MappedByteBuffer mapRegion() {
+        long bytes = (long) CHUNK_BYTES * CHUNKS_PER_REGION;
+        try {
+            if (channel == null) {
+                Path file = Files.createTempFile("series", ".bin");
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                Files.delete(file);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, mappedRegions++ * bytes, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
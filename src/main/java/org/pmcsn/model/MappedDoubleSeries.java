@@ -0,0 +1,60 @@
+package org.pmcsn.model;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.pmcsn.model.MappedArena.*;
+
+/*
+ * The values live in chunks of the shared MappedArena, taken one CHUNK at a time
+ * as the series grows: a series nothing is added to costs no mapping at all.
+ */
+class MappedDoubleSeries implements DoubleSeries {
+    private final List<DoubleBuffer> chunks = new ArrayList<>();
+    private int size = 0;
+
+    @Override
+    public void add(double value) {
+        int chunk = size >>> SHIFT;
+        if (chunk == chunks.size()) {
+            chunks.add(MappedArena.get().acquire());
+        }
+        chunks.get(chunk).put(size & MASK, value);
+        size++;
+    }
+
+    @Override
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chunks.get(index >>> SHIFT).get(index & MASK);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void close() {
+        chunks.forEach(MappedArena.get()::release);
+        chunks.clear();
+        size = 0;
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i += CHUNK) {
+            chunks.get(i >>> SHIFT).get(0, values, i, Math.min(CHUNK, size - i));
+        }
+        return values;
+    }
+}
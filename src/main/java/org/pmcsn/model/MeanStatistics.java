@@ -1,7 +1,5 @@
 package org.pmcsn.model;
 
-import java.util.List;
-
 public class MeanStatistics {
     public String centerName;
     public double meanResponseTime;
@@ -14,13 +12,13 @@ public class MeanStatistics {
 
     public MeanStatistics(AbstractStatistics stats) {
         this.centerName = stats.getCenterName();
-        this.meanResponseTime = computeMean(stats.meanResponseTimeList);
-        this.meanServiceTime = computeMean(stats.meanServiceTimeList);
-        this.meanQueueTime = computeMean(stats.meanQueueTimeList);
-        this.lambda = computeMean(stats.lambdaList);
-        this.meanSystemPopulation = computeMean(stats.meanSystemPopulationList);
-        this.meanUtilization = computeMean(stats.meanUtilizationList);
-        this.meanQueuePopulation = computeMean(stats.meanQueuePopulationList);
+        this.meanResponseTime = computeMean(stats.meanResponseTime);
+        this.meanServiceTime = computeMean(stats.meanServiceTime);
+        this.meanQueueTime = computeMean(stats.meanQueueTime);
+        this.lambda = computeMean(stats.lambda);
+        this.meanSystemPopulation = computeMean(stats.meanSystemPopulation);
+        this.meanUtilization = computeMean(stats.meanUtilization);
+        this.meanQueuePopulation = computeMean(stats.meanQueuePopulation);
     }
 
     public MeanStatistics(String centerName, double  meanResponseTime, double meanServiceTime, double meanQueueTime
@@ -36,7 +34,7 @@ public class MeanStatistics {
     }
 
 
-    public static double computeMean(List<Double> values) {
-        return values.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+    public static double computeMean(MetricAccumulator values) {
+        return values.getMean();
     }
 }
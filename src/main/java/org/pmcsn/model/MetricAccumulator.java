@@ -0,0 +1,169 @@
+package org.pmcsn.model;
+
+/*
+ * Streaming summary of the values of one metric, one per run or batch: count and
+ * mean, Welford's running sum of squared deviations, min/max and the lag-1 cross
+ * products, so means, confidence intervals and the lag-1 autocorrelation cost
+ * O(1) to query however long the run. The values themselves are kept, in a
+ * DoubleSeries, only when the csv files or another series need them (keepValues).
+ *
+ * The mean is the compensated sum DoubleStream.average() computes, over every
+ * value, so a NaN run (no job reached the center) makes it NaN as it always has.
+ * The other statistics skip non-finite values: getStandardDeviation() and getAcf()
+ * are NaN if there were any, the getDefined*() methods leave them out.
+ */
+public class MetricAccumulator {
+    private final boolean keepValues;
+    private final DoubleSeries values;
+    private int count = 0;
+
+    // Kahan summation, as in Collectors.sumWithCompensation
+    private double sum = 0;
+    private double compensation = 0;
+    private double simpleSum = 0;
+
+    // Welford, over the finite values
+    private long definedCount = 0;
+    private double definedMean = 0;
+    private double squares = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // lag-1 cross products, valid while every value is finite
+    private double first = 0;
+    private double previous = 0;
+    private double lagProducts = 0;
+
+    public MetricAccumulator(boolean keepValues) {
+        this.keepValues = keepValues;
+        this.values = keepValues ? DoubleSeries.create() : null;
+    }
+
+    public void add(double value) {
+        if (keepValues) {
+            values.add(value);
+        }
+        double tmp = value - compensation;
+        double velvel = sum + tmp;
+        compensation = (velvel - sum) - tmp;
+        sum = velvel;
+        simpleSum += value;
+        if (Double.isFinite(value)) {
+            definedCount++;
+            double diff = value - definedMean;
+            squares += diff * diff * (definedCount - 1.0) / definedCount;
+            definedMean += diff / definedCount;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if (count == 0) {
+            first = value;
+        } else {
+            lagProducts += previous * value;
+        }
+        previous = value;
+        count++;
+    }
+
+    // adds the values of another accumulator after these, as if added here one by one
+    public void append(MetricAccumulator other) {
+        if (!other.keepValues) {
+            throw new IllegalArgumentException("Only an accumulator that keeps its values can be appended");
+        }
+        for (int i = 0; i < other.count; i++) {
+            add(other.values.get(i));
+        }
+    }
+
+    public void clear() {
+        if (keepValues) {
+            values.clear();
+        }
+        count = 0;
+        sum = compensation = simpleSum = 0;
+        definedCount = 0;
+        definedMean = squares = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        first = previous = lagProducts = 0;
+    }
+
+    // gives the storage of the values back, the accumulator must not be used afterwards
+    public void close() {
+        if (keepValues) {
+            values.close();
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean isKeepingValues() {
+        return keepValues;
+    }
+
+    public double get(int index) {
+        if (!keepValues) {
+            throw new IllegalStateException("The values of this metric are not kept");
+        }
+        return values.get(index);
+    }
+
+    public double[] toArray() {
+        if (!keepValues) {
+            throw new IllegalStateException("The values of this metric are not kept");
+        }
+        return values.toArray();
+    }
+
+    public double getMean() {
+        if (count == 0) {
+            throw new IllegalStateException("No values to average");
+        }
+        double tmp = sum - compensation;
+        if (Double.isNaN(tmp) && Double.isInfinite(simpleSum)) {
+            return simpleSum / count;
+        }
+        return tmp / count;
+    }
+
+    // population standard deviation, as the confidence intervals have always used it
+    public double getStandardDeviation() {
+        return definedCount < count ? Double.NaN : getDefinedStandardDeviation();
+    }
+
+    // lag-1 autocorrelation around the mean of all the values
+    public double getAcf() {
+        if (definedCount < count) {
+            return Double.NaN;
+        }
+        double mean = getMean();
+        double numerator = lagProducts - mean * (simpleSum - previous) - mean * (simpleSum - first) + (count - 1) * mean * mean;
+        return numerator / squares;
+    }
+
+    public long getDefinedCount() {
+        return definedCount;
+    }
+
+    public double getDefinedMean() {
+        return definedMean;
+    }
+
+    public double getDefinedStandardDeviation() {
+        return definedCount == 0 ? 0 : Math.sqrt(squares / definedCount);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
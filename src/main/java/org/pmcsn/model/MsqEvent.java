@@ -3,20 +3,15 @@ package org.pmcsn.model;
 public class MsqEvent {
     public double service;
     public double time;   //time
-    public final EventType type; //type
+    public EventType type; //type
     public int serverId;
     public int nodeId;
     public boolean hasPriority = false;     //if the event has priority
-    public Applicant applicant;
+    public int applicant = ApplicantTable.NONE;
     public boolean isFeedback;
 
     public MsqEvent(EventType type, double time, double service, int serverId, int nodeId,  boolean hasPriority) {
-        this.type = type;
-        this.service = service;
-        this.time = time;
-        this.serverId = serverId;
-        this.nodeId = nodeId;
-        this.hasPriority = hasPriority;
+        init(type, time, service, serverId, nodeId, hasPriority);
     }
 
     public MsqEvent(EventType type, double time, int serverId, boolean hasPriority) {
@@ -54,4 +49,16 @@ public class MsqEvent {
     public double getTime(){
         return time;
     }
+
+    // (re)initializes every field, used by MsqEventPool to recycle processed events
+    final void init(EventType type, double time, double service, int serverId, int nodeId, boolean hasPriority) {
+        this.type = type;
+        this.service = service;
+        this.time = time;
+        this.serverId = serverId;
+        this.nodeId = nodeId;
+        this.hasPriority = hasPriority;
+        this.applicant = ApplicantTable.NONE;
+        this.isFeedback = false;
+    }
 }
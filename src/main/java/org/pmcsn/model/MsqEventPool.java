@@ -0,0 +1,35 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+/*
+ * Free list of MsqEvent instances. Runners hand every event back once it has been
+ * processed, so after the warmup the event population is recycled and the
+ * simulation stops allocating events.
+ */
+public class MsqEventPool {
+    private MsqEvent[] free = new MsqEvent[64];
+    private int size = 0;
+
+    public MsqEvent obtain(EventType type, double time, double service, int serverId, int nodeId, boolean hasPriority) {
+        if (size == 0) {
+            return new MsqEvent(type, time, service, serverId, nodeId, hasPriority);
+        }
+        MsqEvent event = free[--size];
+        free[size] = null;
+        event.init(type, time, service, serverId, nodeId, hasPriority);
+        return event;
+    }
+
+    public void release(MsqEvent event) {
+        event.applicant = ApplicantTable.NONE;
+        if (size == free.length) {
+            free = Arrays.copyOf(free, size << 1);
+        }
+        free[size++] = event;
+    }
+
+    public int size() {
+        return size;
+    }
+}
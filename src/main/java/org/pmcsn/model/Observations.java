@@ -1,18 +1,15 @@
 package org.pmcsn.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Observations {
     public enum INDEX {
         RESPONSE_TIME;
     }
     private final String centerName;
-    private final List<Double> observations;
+    private final DoubleSeries observations;
 
     public Observations(String centerName) {
         this.centerName = centerName;
-        this.observations = new ArrayList<>();
+        this.observations = DoubleSeries.create();
     }
 
     public String getCenterName() {
@@ -23,11 +20,15 @@ public class Observations {
         observations.add(point);
     }
 
-    public List<Double> getPoints() {
+    public DoubleSeries getPoints() {
         return observations;
     }
 
     public void reset() {
         observations.clear();
     }
+
+    public void close() {
+        observations.close();
+    }
 }
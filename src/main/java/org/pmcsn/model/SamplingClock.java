@@ -0,0 +1,68 @@
+package org.pmcsn.model;
+
+import java.util.Arrays;
+
+/*
+ * Periodic sampling decoupled from the event list. Each registered sampler has its
+ * own interval and is invoked at every multiple of it. Runners call advanceTo()
+ * with the time of the next event before processing it: all the sampling
+ * boundaries strictly before that time are delivered first, in time order across
+ * all the registered rates (registration order breaks ties), so the samplers
+ * observe the system state between two real events. No event is ever scheduled.
+ */
+public class SamplingClock {
+    public interface Sampler {
+        void sample(double time);
+    }
+
+    private Sampler[] samplers = new Sampler[2];
+    private double[] intervals = new double[2];
+    private long[] ticks = new long[2];
+    private double[] nextSample = new double[2];
+    private int count = 0;
+
+    public void register(double interval, Sampler sampler) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + interval);
+        }
+        if (count == samplers.length) {
+            samplers = Arrays.copyOf(samplers, count << 1);
+            intervals = Arrays.copyOf(intervals, count << 1);
+            ticks = Arrays.copyOf(ticks, count << 1);
+            nextSample = Arrays.copyOf(nextSample, count << 1);
+        }
+        samplers[count] = sampler;
+        intervals[count] = interval;
+        ticks[count] = 1;
+        nextSample[count] = interval;
+        count++;
+    }
+
+    // delivers every sampling boundary strictly before the given time
+    public void advanceTo(double time) {
+        while (true) {
+            int next = -1;
+            double nextTime = time;
+            for (int i = 0; i < count; i++) {
+                if (nextSample[i] < nextTime) {
+                    next = i;
+                    nextTime = nextSample[i];
+                }
+            }
+            if (next < 0) {
+                return;
+            }
+            samplers[next].sample(nextTime);
+            // boundaries are computed as multiples so they don't drift with repeated sums
+            nextSample[next] = ++ticks[next] * intervals[next];
+        }
+    }
+
+    // restarts every sampler from time zero, keeping the registrations
+    public void reset() {
+        for (int i = 0; i < count; i++) {
+            ticks[i] = 1;
+            nextSample[i] = intervals[i];
+        }
+    }
+}
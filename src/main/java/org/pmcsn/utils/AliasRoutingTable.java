@@ -0,0 +1,58 @@
+package org.pmcsn.utils;
+
+class AliasRoutingTable implements RoutingTable {
+    // column i keeps outcome i with probability keep[i], otherwise gives alias[i]
+    private final double[] keep;
+    private final int[] alias;
+
+    AliasRoutingTable(double[] probabilities) {
+        int n = probabilities.length;
+        keep = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = probabilities[i] * n;
+            alias[i] = i;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            keep[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small[smallCount++] = l;
+            } else {
+                large[largeCount++] = l;
+            }
+        }
+        // whatever is left is 1 up to rounding
+        while (largeCount > 0) {
+            keep[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            keep[small[--smallCount]] = 1.0;
+        }
+    }
+
+    @Override
+    public int route(double u) {
+        double x = u * keep.length;
+        int column = (int) x;
+        return (x - column < keep[column]) ? column : alias[column];
+    }
+
+    @Override
+    public int size() {
+        return keep.length;
+    }
+}
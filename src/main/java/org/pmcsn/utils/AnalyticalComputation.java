@@ -1,6 +1,7 @@
 package org.pmcsn.utils;
 
 import org.pmcsn.configuration.ConfigurationManager;
+import org.pmcsn.configuration.GeneralConfiguration;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -128,7 +129,7 @@ public class AnalyticalComputation {
         double pAcceptSysScoring = conf.getDouble("sysScoringAutomaticoSANTANDER", "pAccept");
         double pAcceptCredito = conf.getDouble("comitatoCreditoSANTANDER", "pAccept");
 
-        double gamma = 1 / config.getDouble("general", "interArrivalTime");
+        double gamma = 1 / GeneralConfiguration.get().interArrivalTime;
         double lambda = gamma / (1 - (pFeedback * pAcceptSysScoring));
 
         // REPARTO ISTRUTTORIE
@@ -172,7 +173,7 @@ public class AnalyticalComputation {
         double pAcceptCredito = conf.getDouble("comitatoCreditoSANTANDER", "pAccept");
         double pAcceptPreScoring = 0.51;
 
-        double gamma = 1 / config.getDouble("general", "interArrivalTime");
+        double gamma = 1 / GeneralConfiguration.get().interArrivalTime;
         double lambda = (gamma*pAcceptPreScoring) / (1 - (pFeedback * pAcceptSysScoring));
 
         // PRE-SCORING (nel primo centro non c'è feedback ma entra il lambda originario che è gamma)
@@ -0,0 +1,86 @@
+package org.pmcsn.utils;
+
+/*
+ * Algorithm AS 241 (M. J. Wichura, "The Percentage Points of the Normal
+ * Distribution", Applied Statistics 37, 1988), the PPND16 variant: one rational
+ * approximation for the central region |u - 0.5| <= 0.425 and two in the tails.
+ */
+public class As241InverseNormal {
+    private static final double SPLIT1 = 0.425;
+    private static final double SPLIT2 = 5.0;
+    private static final double CONST1 = 0.180625;
+    private static final double CONST2 = 1.6;
+
+    private static final double A0 = 3.387132872796366608;
+    private static final double A1 = 133.14166789178437745;
+    private static final double A2 = 1971.5909503065514427;
+    private static final double A3 = 13731.693765509461125;
+    private static final double A4 = 45921.953931549871457;
+    private static final double A5 = 67265.770927008700853;
+    private static final double A6 = 33430.575583588128105;
+    private static final double A7 = 2509.0809287301226727;
+    private static final double B1 = 42.313330701600911252;
+    private static final double B2 = 687.1870074920579083;
+    private static final double B3 = 5394.1960214247511077;
+    private static final double B4 = 21213.794301586595867;
+    private static final double B5 = 39307.89580009271061;
+    private static final double B6 = 28729.085735721942674;
+    private static final double B7 = 5226.495278852545925;
+
+    private static final double C0 = 1.42343711074968357734;
+    private static final double C1 = 4.6303378461565452959;
+    private static final double C2 = 5.7694972214606914055;
+    private static final double C3 = 3.64784832476320460504;
+    private static final double C4 = 1.27045825245236838258;
+    private static final double C5 = 0.24178072517745061177;
+    private static final double C6 = 0.0227238449892691845833;
+    private static final double C7 = 7.7454501427834140764e-4;
+    private static final double D1 = 2.05319162663775882187;
+    private static final double D2 = 1.6763848301838038494;
+    private static final double D3 = 0.68976733498510000455;
+    private static final double D4 = 0.14810397642748007459;
+    private static final double D5 = 0.0151986665636164571966;
+    private static final double D6 = 5.475938084995344946e-4;
+    private static final double D7 = 1.05075007164441684324e-9;
+
+    private static final double E0 = 6.6579046435011037772;
+    private static final double E1 = 5.4637849111641143699;
+    private static final double E2 = 1.7848265399172913358;
+    private static final double E3 = 0.29656057182850489123;
+    private static final double E4 = 0.026532189526576123093;
+    private static final double E5 = 0.0012426609473880784386;
+    private static final double E6 = 2.71155556874348757815e-5;
+    private static final double E7 = 2.01033439929228813265e-7;
+    private static final double F1 = 0.59983220655588793769;
+    private static final double F2 = 0.13692988092273580531;
+    private static final double F3 = 0.0148753612908506148525;
+    private static final double F4 = 7.868691311456132591e-4;
+    private static final double F5 = 1.8463183175100546818e-5;
+    private static final double F6 = 1.4215117583164458887e-7;
+    private static final double F7 = 2.04426310338993978564e-15;
+
+    private As241InverseNormal() {}
+
+    public static double idfStandard(double u) {
+        double q = u - 0.5;
+        double r;
+        if (Math.abs(q) <= SPLIT1) {
+            r = CONST1 - q * q;
+            return q * (((((((A7 * r + A6) * r + A5) * r + A4) * r + A3) * r + A2) * r + A1) * r + A0)
+                    / (((((((B7 * r + B6) * r + B5) * r + B4) * r + B3) * r + B2) * r + B1) * r + 1.0);
+        }
+        r = q < 0 ? u : 1.0 - u;
+        r = Math.sqrt(-Math.log(r));
+        double x;
+        if (r <= SPLIT2) {
+            r -= CONST2;
+            x = (((((((C7 * r + C6) * r + C5) * r + C4) * r + C3) * r + C2) * r + C1) * r + C0)
+                    / (((((((D7 * r + D6) * r + D5) * r + D4) * r + D3) * r + D2) * r + D1) * r + 1.0);
+        } else {
+            r -= SPLIT2;
+            x = (((((((E7 * r + E6) * r + E5) * r + E4) * r + E3) * r + E2) * r + E1) * r + E0)
+                    / (((((((F7 * r + F6) * r + F5) * r + F4) * r + F3) * r + F2) * r + F1) * r + 1.0);
+        }
+        return q < 0 ? -x : x;
+    }
+}
@@ -0,0 +1,36 @@
+package org.pmcsn.utils;
+
+class CumulativeRoutingTable implements RoutingTable {
+    // cut[i] = p_0 + ... + p_i; the last outcome takes whatever is left above cut[n - 2]
+    private final double[] cut;
+
+    CumulativeRoutingTable(double[] probabilities) {
+        cut = new double[probabilities.length - 1];
+        double sum = 0;
+        for (int i = 0; i < cut.length; i++) {
+            sum += probabilities[i];
+            cut[i] = sum;
+        }
+    }
+
+    @Override
+    public int route(double u) {
+        // first i with u < cut[i]
+        int low = 0;
+        int high = cut.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (u < cut[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int size() {
+        return cut.length + 1;
+    }
+}
@@ -1,11 +1,9 @@
 package org.pmcsn.utils;
 
-import org.pmcsn.libraries.Rngs;
-import org.pmcsn.libraries.Rvgs;
-import org.pmcsn.libraries.Rvms;
+import org.pmcsn.libraries.RngStream;
 
 public class Distributions {
-    public static double erlang(long k, double b, Rngs rngs)
+    public static double erlang(long k, double b, RngStream stream)
         /* ==================================================
          * Returns an Erlang distributed positive real number.
          * NOTE: use k > 0 and b > 0.0
@@ -16,29 +14,29 @@ public class Distributions {
         double x = 0.0;
 
         for (i = 0; i < k; i++)
-            x += exponential(b, rngs);
+            x += exponential(b, stream);
         return (x);
     }
 
-    public static double exponential(double m, Rngs rngs)
+    public static double exponential(double m, RngStream stream)
         /* =========================================================
          * Returns an exponentially distributed positive real number.
          * NOTE: use m > 0.0
          * =========================================================
          */
     {
-        return (-m * Math.log(1.0 - rngs.random()));
+        return (-m * Math.log(1.0 - stream.random()));
     }
 
-    public static double uniform(double a, double b, Rngs rngs) {
+    public static double uniform(double a, double b, RngStream stream) {
         /* --------------------------------------------
          * generate a Uniform random variate, use a < b
          * --------------------------------------------
          */
-        return (a + (b - a) * rngs.random());
+        return (a + (b - a) * stream.random());
     }
 
-    public static double logNormal(double mean, double stdDev, Rngs rngs)
+    public static double logNormal(double mean, double stdDev, RngStream stream)
         /* ====================================================
          * Returns a lognormal distributed positive real number.
          * NOTE: use stdDev > 0.0
@@ -47,11 +45,11 @@ public class Distributions {
     {
         double sigma = Math.sqrt(Math.log(1 + Math.pow(stdDev / Math.log(mean), 2)));
         double mu = Math.log(mean) - 0.5 * Math.pow(sigma, 2);
-        return Math.exp(mu + sigma * normal(0.0, 1.0, rngs));
+        return Math.exp(mu + sigma * normal(0.0, 1.0, stream));
     }
 
 
-    public static double normal(double m, double s, Rngs rngs)
+    public static double normal(double m, double s, RngStream stream)
         /* ========================================================================
          * Returns a normal (Gaussian) distributed real number.
          * NOTE: use s > 0.0
@@ -68,7 +66,7 @@ public class Distributions {
         final double p4 = 0.453642210148e-4;  final double q4 = 0.385607006340e-2;
         double u, t, p, q, z;
 
-        u   = rngs.random();
+        u   = stream.random();
         if (u < 0.5)
             t = Math.sqrt(-2.0 * Math.log(u));
         else
@@ -89,24 +87,8 @@ public class Distributions {
      *                    variance = (Exp(b*b) - 1)*Exp(2*a + b*b)
      *
      */
-    public static double truncatedLogNormal(double mu, double sigma, double truncationPoint, Rngs rngs) {
-        Rvms rvms = new Rvms();
-        Rvgs rvgs = new Rvgs(rngs);
-
-        // Calculate 'a' and 'b' based on the given mean and variance
-        double variance = sigma*sigma;
-        double b = Math.sqrt(Math.log(1 + (variance / (mu * mu))));
-        double a = Math.log(mu) - 0.5 * b * b;
-
-        // Calculate alpha (CDF at the left tail)
-        double alpha = rvms.cdfLogNormal(a,b,1e-20);
-        // Calculate beta (1 - CDF at truncation point)
-        double beta = 1.0 - rvms.cdfLogNormal(a,b,truncationPoint);
-
-        // Generate a uniform value in the range [alpha, 1 - beta]
-        double u = rvgs.uniform(alpha, 1.0 - beta);
-
-        // Calculate the inverse distribution function
-        return rvms.idfLogNormal(a, b, u);
+    public static double truncatedLogNormal(double mu, double sigma, double truncationPoint, RngStream stream) {
+        // centers keep their own TruncatedLogNormalSampler instead of paying the setup on every draw
+        return new TruncatedLogNormalSampler(mu, sigma, truncationPoint).sample(stream);
     }
 }
@@ -0,0 +1,28 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.model.AbstractStatistics;
+
+import java.util.List;
+
+class FixedStopping implements ReplicationStopping {
+    private final int runsNumber;
+
+    FixedStopping(int runsNumber) {
+        this.runsNumber = runsNumber;
+    }
+
+    @Override
+    public int nextWave(int runs, List<? extends AbstractStatistics> statistics) {
+        return runs == 0 ? runsNumber : 0;
+    }
+
+    @Override
+    public int getMaxRuns() {
+        return runsNumber;
+    }
+
+    @Override
+    public String describe(int runs, List<? extends AbstractStatistics> statistics) {
+        return Integer.toString(runs);
+    }
+}
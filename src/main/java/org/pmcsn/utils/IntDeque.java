@@ -0,0 +1,59 @@
+package org.pmcsn.utils;
+
+import java.util.Arrays;
+
+/*
+ * Growable ring buffer of ints with the ArrayDeque operations the centers use, so
+ * queued job ids are not boxed. poll() returns empty when there is nothing left,
+ * where ArrayDeque would return null.
+ */
+public class IntDeque {
+    private final int empty;
+    private int[] elements = new int[16];
+    private int head = 0;
+    private int size = 0;
+
+    public IntDeque(int empty) {
+        this.empty = empty;
+    }
+
+    public void addFirst(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+
+    // removes the first element, like Deque.poll()
+    public int poll() {
+        if (size == 0) {
+            return empty;
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+
+    private void grow() {
+        int[] grown = new int[elements.length << 1];
+        int tail = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, tail);
+        System.arraycopy(elements, 0, grown, tail, head);
+        elements = grown;
+        head = 0;
+    }
+}
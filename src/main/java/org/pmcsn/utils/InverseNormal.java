@@ -0,0 +1,39 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.Rvms;
+
+/*
+ * Inverse of the standard normal cdf, the expensive step of sampling a
+ * (truncated) lognormal by inversion. Implementations:
+ *
+ *   NEWTON  Rvms.idfStandard: Newton iteration on cdfStandard, which is itself an
+ *           incomplete gamma series. Slow, but reproduces the historical results.
+ *           It stops converging for u above about 1 - 1e-7, where the 1e-10
+ *           accuracy of cdfStandard exceeds the remaining tail mass.
+ *   AS241   Wichura's algorithm AS 241 (PPND16): rational approximations, no
+ *           iteration. Relative accuracy about 1e-16.
+ *   TABLE   cubic Hermite interpolation on a uniform grid of u in [0.02, 0.98],
+ *           with AS241 in the tails.
+ *
+ * Maximum absolute errors measured by InverseNormalBenchmark over u in
+ * [1e-6, 1 - 1e-6]: AS241 differs from NEWTON by at most 6.3e-11 (the tolerance
+ * of the Newton solve), TABLE differs from AS241 by at most 5.9e-12.
+ */
+public interface InverseNormal {
+    enum Type {
+        NEWTON,
+        AS241,
+        TABLE
+    }
+
+    // 0.0 < u < 1.0
+    double idfStandard(double u);
+
+    static InverseNormal create(Type type) {
+        return switch (type) {
+            case NEWTON -> new Rvms()::idfStandard;
+            case AS241 -> As241InverseNormal::idfStandard;
+            case TABLE -> TabulatedInverseNormal.INSTANCE;
+        };
+    }
+}
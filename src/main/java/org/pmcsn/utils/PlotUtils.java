@@ -1,8 +1,8 @@
 package org.pmcsn.utils;
 
-import org.pmcsn.controller.FiniteImprovedSimulationRunner;
 import org.pmcsn.controller.FiniteSimulationRunner;
 import org.pmcsn.libraries.Rngs;
+import org.pmcsn.model.DoubleSeries;
 import org.pmcsn.model.Observations;
 
 import java.io.File;
@@ -14,7 +14,6 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class PlotUtils {
     private PlotUtils() {}
@@ -22,7 +21,7 @@ public class PlotUtils {
     public static void writeObservations(String path, List<Observations> observationsList) {
         FileUtils.createDirectoryIfNotExists(path);
         File parent = new File(path);
-        List<Double> row = new ArrayList<>();
+        DoubleSeries row = DoubleSeries.create(DoubleSeries.Type.HEAP);
         int minSize = observationsList.stream().mapToInt(x -> x.getPoints().size()).min().orElseThrow();
         for (int i = 0; i < minSize; i++) {
             double s = 0;
@@ -49,10 +48,12 @@ public class PlotUtils {
         writeRow(file, observations.getPoints());
     }
 
-    private static void writeRow(File file, List<Double> points) {
+    private static void writeRow(File file, DoubleSeries points) {
         try (FileWriter fileWriter = new FileWriter(file, true)) {
             StringBuilder row = new StringBuilder();
-            points.forEach(p -> row.append(p.toString()).append(","));
+            for (int i = 0; i < points.size(); i++) {
+                row.append(points.get(i)).append(",");
+            }
             fileWriter.write(row.append("\n").toString());
             fileWriter.flush();
         } catch (IOException e) {
@@ -70,10 +71,10 @@ public class PlotUtils {
             seeds[i] = (long) (rngs.random() * (Long.MAX_VALUE));
         }
         for (long seed : seeds) {
-            FiniteSimulationRunner runner = new FiniteSimulationRunner(seed);
+            FiniteSimulationRunner runner = new FiniteSimulationRunner(false, seed);
             runner.runFiniteSimulation(false, true, false);
-            FiniteImprovedSimulationRunner iRunner = new FiniteImprovedSimulationRunner(seed);
-            iRunner.runImprovedModelSimulation(false, true, false);
+            FiniteSimulationRunner iRunner = new FiniteSimulationRunner(true, seed);
+            iRunner.runFiniteSimulation(false, true, false);
             PlotUtils.welchPlot("csvFiles/IMPROVED_FINITE_SIMULATION/%d/observations".formatted(seed));
             PlotUtils.welchPlot("csvFiles/FINITE_SIMULATION/%d/observations".formatted(seed));
         }
@@ -82,39 +83,40 @@ public class PlotUtils {
     public static void welchPlot(String parent) throws IOException {
         List<Path> files = listAllFiles(Path.of(parent));
         for (Path file : files) {
-            List<List<Double>> matrix = new ArrayList<>();
+            List<double[]> matrix = new ArrayList<>();
             for (String line : Files.readAllLines(file)) {
                 if (line.trim().split(",").length >= 30) {
                     matrix.add(Arrays.stream(line.trim().split(","))
                             .mapToDouble(Double::parseDouble)
-                            .boxed()
-                            .collect(Collectors.toList()));
+                            .toArray());
                 }
             }
-            List<Double> plot = finiteSimulationPlot(matrix);
+            double[] plot = finiteSimulationPlot(matrix);
             String plotPath = file.toString().replace(".data", "_plot.csv");
             savePlot(plotPath, plot);
         }
     }
 
-    private static List<Double> finiteSimulationPlot(List<List<Double>> matrix) {
-        int minSize = matrix.stream().mapToInt(List::size).min().orElseThrow();
-        List<Double> averages = new ArrayList<>();
+    private static double[] finiteSimulationPlot(List<double[]> matrix) {
+        int minSize = matrix.stream().mapToInt(row -> row.length).min().orElseThrow();
+        double[] averages = new double[minSize];
         for (int i = 0; i < minSize; i++) {
             double sum = 0.0;
             for (int j = 0; j < matrix.size(); j++) {
-                sum += matrix.get(j).get(i);
+                sum += matrix.get(j)[i];
             }
-            averages.add(sum / matrix.size());
+            averages[i] = sum / matrix.size();
         }
         return averages;
     }
 
-    private static void savePlot(String plotPath, List<Double> plot) {
+    private static void savePlot(String plotPath, double[] plot) {
         try (FileWriter w = new FileWriter(plotPath)) {
             StringBuilder s = new StringBuilder();
             s.append("E[Ts]\n");
-            plot.forEach(x -> s.append(x).append("\n"));
+            for (double x : plot) {
+                s.append(x).append("\n");
+            }
             w.write(s.toString());
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -1,7 +1,7 @@
 package org.pmcsn.utils;
 
 
-import org.pmcsn.configuration.ConfigurationManager;
+import org.pmcsn.configuration.GeneralConfiguration;
 import org.pmcsn.model.BatchMetric;
 
 import java.util.List;
@@ -74,7 +74,7 @@ public class PrintUtils {
     }
 
     private static String getAcfColor(double value) {
-        if (Math.abs(value) > 0.2) {
+        if (Math.abs(value) > GeneralConfiguration.get().acfThreshold) {
             return BRIGHT_RED;
         } else {
             return BRIGHT_GREEN;
@@ -89,9 +89,8 @@ public class PrintUtils {
         for (Verification.VerificationResult verificationResult : verificationResultList) {
             String centerName = verificationResult.name.toUpperCase();
             System.out.println(BRIGHT_RED + "\n\n*******************************************************************************************************");
-            ConfigurationManager configurationManager = new ConfigurationManager();
             System.out.println("FINAL RESULTS FOR " + centerName +
-                    " with " + (int) (100.0 * configurationManager.getDouble("general", "levelOfConfidence") + 0.5) +
+                    " with " + (int) (100.0 * GeneralConfiguration.get().levelOfConfidence + 0.5) +
                     "% confidence" + " [B:"+batchSize+"|K:"+numBatches+"]");
             System.out.println("*******************************************************************************************************" + RESET);
             printVerificationResult(verificationResult);
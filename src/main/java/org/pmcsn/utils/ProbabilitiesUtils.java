@@ -21,19 +21,11 @@ public class ProbabilitiesUtils {
     }
 
     public static int getRandomValueUpToMax(Rngs rngs, int streamIndex, int maxValue) {
-        double prob = 1.0 / maxValue;
         rngs.selectStream(streamIndex);
         double random = rngs.random();
 
         // Mappa il valore casuale a un numero intero tra 1 e maxValue
-        for (int i = 1; i <= maxValue; i++) {
-            if (random < i * prob) {
-                return i;
-            }
-        }
-
-        // Questo punto non dovrebbe mai essere raggiunto, ma è qui come fallback
-        return maxValue;
+        return Math.min(maxValue, (int) (random * maxValue) + 1);
     }
 
     private static boolean generateProbability(double beta, Rngs rngs, int streamIndex) {
@@ -0,0 +1,76 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.Rngs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * Runs independent replications on a fixed pool of worker threads. Workers pick the
+ * next replication index from a shared counter and store the result in its own slot,
+ * so results are collected without locks and handed back in replication order no
+ * matter which thread ran them or when it finished.
+ */
+public class ReplicationExecutor {
+    private ReplicationExecutor() {}
+
+    public interface Replication<T> {
+        T run(int index) throws Exception;
+    }
+
+    // 0 (or less) means one thread per available processor
+    public static int resolveThreads(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /*
+     * Seed of replication k as the sequential runners chained them: every run planted
+     * the previous seed and the next one was the initial state of the given stream.
+     * plantSeeds puts stream j SPACING * j draws after stream 0, so each link of the
+     * chain is a jump of SPACING * streamIndex draws and seed k is computed directly.
+     */
+    public static long replicationSeed(long seed, int k, int streamIndex) {
+        if (k == 0) {
+            return seed;
+        }
+        long links = (long) k * streamIndex % Rngs.PERIOD;
+        return Rngs.jumpAhead(seed % Rngs.MERSENNE, links * Rngs.SPACING);
+    }
+
+    public static <T> List<T> run(int count, int threads, Replication<T> replication) throws Exception {
+        AtomicReferenceArray<T> results = new AtomicReferenceArray<>(count);
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int workers = Math.min(threads, count);
+        try (ExecutorService pool = Executors.newFixedThreadPool(workers)) {
+            for (int w = 0; w < workers; w++) {
+                pool.execute(() -> {
+                    int index;
+                    while (failure.get() == null && (index = next.getAndIncrement()) < count) {
+                        try {
+                            results.set(index, replication.run(index));
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                });
+            }
+        } // close() waits for every worker
+        Throwable t = failure.get();
+        if (t instanceof Error error) {
+            throw error;
+        } else if (t != null) {
+            throw (Exception) t;
+        }
+        List<T> ordered = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,50 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.configuration.GeneralConfiguration;
+import org.pmcsn.libraries.RngEngine;
+import org.pmcsn.libraries.Rngs;
+import org.pmcsn.libraries.Substreams;
+
+/*
+ * How the generator is seeded for replication k of a finite-horizon run. Both
+ * schemes compute the seeds of replication k directly, so replications can be
+ * handed to workers in any order:
+ *
+ *   CHAIN       plantSeeds(seed_k), where seed_k is the state seedStreamIndex held
+ *               after plantSeeds(seed_(k-1)), reached by jump-ahead. Reproduces the
+ *               historical results, but since plantSeeds spaces streams evenly over
+ *               the whole period, stream j of replication k is stream j - k of
+ *               replication 0 (with the default seedStreamIndex = 255).
+ *   SUBSTREAMS  one disjoint Substreams share per replication, stream and purpose:
+ *               the streams are those of the network (Network.getStreamIndices(),
+ *               every center's service and routing/arrivals streams, plus the
+ *               applicant stream), so a center added to the network gets its own.
+ *               Lehmer engine only: the other engines have periods long enough that
+ *               CHAIN seeds already start their streams at unrelated points.
+ */
+public interface ReplicationSeeding {
+    enum Type {
+        CHAIN,
+        SUBSTREAMS
+    }
+
+    // streamIndex and streamIndex + 1 of each center
+    int PURPOSES = 2;
+
+    void plant(RngEngine rngs, int replication);
+
+    static ReplicationSeeding create(Type type, long seed, int replications, RngEngine.Type engine, int[] streams, GeneralConfiguration general) {
+        return switch (type) {
+            case CHAIN -> (rngs, replication) ->
+                    rngs.plantSeeds(ReplicationExecutor.replicationSeed(seed, replication, general.seedStreamIndex));
+            case SUBSTREAMS -> {
+                if (engine != RngEngine.Type.LEHMER) {
+                    throw new IllegalArgumentException("SUBSTREAMS seeding needs the LEHMER engine, not " + engine);
+                }
+                int[] centerStreams = streams.clone();
+                Substreams substreams = new Substreams(seed, replications, centerStreams.length, PURPOSES);
+                yield (rngs, replication) -> substreams.plant((Rngs) rngs, replication, centerStreams);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.model.AbstractStatistics;
+
+import java.util.List;
+
+/*
+ * How many replications a finite-horizon run is made of. The runner asks for the
+ * size of the next wave of replications, runs it (in parallel if configured) and
+ * asks again with the statistics of all the runs so far, until the answer is 0:
+ *
+ *   FIXED       one wave of runsNumber replications, as always.
+ *   SEQUENTIAL  runsNumber is the pilot wave; then, while the confidence interval
+ *               half-width of some metric of some center is wider than its
+ *               target, max(relativePrecision * |mean|, absolutePrecision),
+ *               another wave is run, sized from the usual estimate
+ *               n * (halfWidth / target)^2 but at most doubling the runs so far
+ *               and never smaller than minWave, until maxRunsNumber replications
+ *               have been run. The waves depend on the statistics and the
+ *               configuration only, never on the number of worker threads, so
+ *               the replications run are the same on every machine.
+ *
+ * Seeds come from ReplicationSeeding, sized for getMaxRuns() replications. With
+ * CHAIN the seed of a replication doesn't depend on that size, so a SEQUENTIAL run
+ * that ends after n replications gives the same results as a FIXED one of n.
+ */
+public interface ReplicationStopping {
+    enum Type {
+        FIXED,
+        SEQUENTIAL
+    }
+
+    // replications to run after the given ones, 0 when done
+    int nextWave(int runs, List<? extends AbstractStatistics> statistics);
+
+    // the most replications the rule can ask for
+    int getMaxRuns();
+
+    // why the rule stopped, for the final report
+    String describe(int runs, List<? extends AbstractStatistics> statistics);
+
+    static ReplicationStopping create(Type type, int runsNumber, double relativePrecision, double absolutePrecision, int maxRunsNumber, int minWave) {
+        return switch (type) {
+            case FIXED -> new FixedStopping(runsNumber);
+            case SEQUENTIAL -> new SequentialStopping(runsNumber, relativePrecision, absolutePrecision, maxRunsNumber, minWave);
+        };
+    }
+}
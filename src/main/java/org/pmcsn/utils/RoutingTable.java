@@ -0,0 +1,48 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.RngStream;
+
+/*
+ * Discrete choice among n outcomes with fixed probabilities, one uniform per decision.
+ * Implementations:
+ *
+ *   INVERSION  cumulative cut points: outcome i when p_0 + ... + p_(i-1) <= u < p_0 + ... + p_i,
+ *              found by binary search. The same decisions as comparing u with literal
+ *              thresholds, so it reproduces the historical results.
+ *   ALIAS      Walker's alias method (Vose's construction): u picks a column and the
+ *              column's cut-off picks the outcome or its alias. O(1) for any n.
+ *
+ * The probabilities must be non-negative and sum to 1.
+ */
+public interface RoutingTable {
+    enum Type {
+        INVERSION,
+        ALIAS
+    }
+
+    // index of the outcome chosen by u, 0.0 < u < 1.0
+    int route(double u);
+
+    default int route(RngStream stream) {
+        return route(stream.random());
+    }
+
+    int size();
+
+    static RoutingTable create(Type type, double... probabilities) {
+        double sum = 0;
+        for (double p : probabilities) {
+            if (!(p >= 0)) {
+                throw new IllegalArgumentException("negative routing probability " + p);
+            }
+            sum += p;
+        }
+        if (probabilities.length == 0 || Math.abs(sum - 1.0) > 1e-9) {
+            throw new IllegalArgumentException("routing probabilities sum to " + sum + ", not 1");
+        }
+        return switch (type) {
+            case INVERSION -> new CumulativeRoutingTable(probabilities);
+            case ALIAS -> new AliasRoutingTable(probabilities);
+        };
+    }
+}
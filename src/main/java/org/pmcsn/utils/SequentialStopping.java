@@ -0,0 +1,128 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.model.AbstractStatistics;
+import org.pmcsn.model.ConfidenceIntervals;
+import org.pmcsn.model.MetricAccumulator;
+
+import java.util.List;
+
+class SequentialStopping implements ReplicationStopping {
+    // labels of the metrics() lists, in order
+    private static final String[] NAMES = {"E[Ts]", "E[Tq]", "E[s]", "E[Ns]", "E[Nq]", "ρ", "λ"};
+    private final int pilotRuns;
+    private final double relativePrecision;
+    private final double absolutePrecision;
+    private final int maxRuns;
+    private final int minWave;
+
+    SequentialStopping(int pilotRuns, double relativePrecision, double absolutePrecision, int maxRuns, int minWave) {
+        if (pilotRuns < 2) {
+            throw new IllegalArgumentException("A confidence interval needs at least 2 pilot replications: " + pilotRuns);
+        }
+        if (relativePrecision <= 0) {
+            throw new IllegalArgumentException("Relative precision must be positive: " + relativePrecision);
+        }
+        if (absolutePrecision < 0) {
+            throw new IllegalArgumentException("Absolute precision must not be negative: " + absolutePrecision);
+        }
+        if (maxRuns < pilotRuns) {
+            throw new IllegalArgumentException("The replication budget %d is below the pilot runs %d".formatted(maxRuns, pilotRuns));
+        }
+        this.pilotRuns = pilotRuns;
+        this.relativePrecision = relativePrecision;
+        this.absolutePrecision = absolutePrecision;
+        this.maxRuns = maxRuns;
+        this.minWave = Math.max(1, minWave);
+    }
+
+    @Override
+    public int nextWave(int runs, List<? extends AbstractStatistics> statistics) {
+        if (runs == 0) {
+            return pilotRuns;
+        }
+        long needed = runs;
+        for (AbstractStatistics stats : statistics) {
+            for (MetricAccumulator values : metrics(stats)) {
+                needed = Math.max(needed, neededRuns(runs, values));
+            }
+        }
+        if (needed <= runs) {
+            return 0;
+        }
+        // pilot estimates can be far off: at most double the runs before estimating again
+        long wave = Math.max(Math.min(needed - runs, runs), minWave);
+        return (int) Math.min(wave, maxRuns - runs);
+    }
+
+    @Override
+    public int getMaxRuns() {
+        return maxRuns;
+    }
+
+    @Override
+    public String describe(int runs, List<? extends AbstractStatistics> statistics) {
+        // the metric furthest from its target precision
+        double worst = 0;
+        String worstMetric = "";
+        for (AbstractStatistics stats : statistics) {
+            List<MetricAccumulator> metrics = metrics(stats);
+            for (int i = 0; i < metrics.size(); i++) {
+                double precision = precisionRatio(metrics.get(i));
+                if (precision > worst) {
+                    worst = precision;
+                    worstMetric = "%s %s".formatted(stats.getCenterName(), NAMES[i]);
+                }
+            }
+        }
+        String outcome = worst <= 1 ? "precision reached" : "replication budget hit";
+        return "%d, %s (widest half-width %.2f times its target, %s)".formatted(runs, outcome, worst, worstMetric);
+    }
+
+    // runs where a metric is undefined (NaN: no job reached the center) are left out,
+    // through the getDefined*() statistics
+    private static List<MetricAccumulator> metrics(AbstractStatistics stats) {
+        return List.of(
+                stats.meanResponseTime, stats.meanQueueTime, stats.meanServiceTime,
+                stats.meanSystemPopulation, stats.meanQueuePopulation,
+                stats.meanUtilization, stats.lambda);
+    }
+
+    private long neededRuns(int runs, MetricAccumulator values) {
+        if (values.getDefinedCount() < 2) {
+            // not enough defined values for an interval yet
+            return 2L * runs;
+        }
+        double halfWidth = halfWidth(values);
+        double target = target(values);
+        if (halfWidth <= target) {
+            return runs;
+        }
+        if (target == 0) {
+            return maxRuns;
+        }
+        double ratio = halfWidth / target;
+        return (long) Math.ceil(runs * ratio * ratio);
+    }
+
+    // metrics whose mean is close to 0 (the queues of a lightly loaded center) are
+    // precise enough once their half-width is below absolutePrecision
+    private double target(MetricAccumulator values) {
+        return Math.max(relativePrecision * Math.abs(values.getDefinedMean()), absolutePrecision);
+    }
+
+    // half-width over target: above 1 when more replications are needed
+    private double precisionRatio(MetricAccumulator values) {
+        if (values.getDefinedCount() < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double halfWidth = halfWidth(values);
+        if (halfWidth == 0) {
+            return 0;
+        }
+        return halfWidth / target(values);
+    }
+
+    private static double halfWidth(MetricAccumulator values) {
+        return ConfidenceIntervals.computeConfidenceInterval(values.getDefinedCount(), values.getDefinedStandardDeviation());
+    }
+}
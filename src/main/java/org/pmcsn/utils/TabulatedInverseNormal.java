@@ -0,0 +1,49 @@
+package org.pmcsn.utils;
+
+/*
+ * Inverse normal cdf by cubic Hermite interpolation on a uniform grid of u. Both
+ * the values and the slopes (dx/du = 1 / pdf(x)) are tabulated, so inside a cell
+ * the cost is one multiply-add chain. The derivative grows without bound towards
+ * 0 and 1, so the grid only covers [LOW, 1 - LOW] and the tails go to AS241.
+ */
+public class TabulatedInverseNormal implements InverseNormal {
+    private static final double LOW = 0.02;
+    private static final double HIGH = 1.0 - LOW;
+    private static final int CELLS = 8192;
+    private static final double STEP = (HIGH - LOW) / CELLS;
+    private static final double INV_STEP = 1.0 / STEP;
+    private static final double SQRT2PI = Math.sqrt(2.0 * Math.PI);
+    // declared after the constants the constructor needs, static initializers run in order
+    static final TabulatedInverseNormal INSTANCE = new TabulatedInverseNormal();
+
+    private final double[] value = new double[CELLS + 1];
+    // slope already multiplied by STEP, as the Hermite basis on [0, 1] wants it
+    private final double[] slope = new double[CELLS + 1];
+
+    private TabulatedInverseNormal() {
+        for (int i = 0; i <= CELLS; i++) {
+            double x = As241InverseNormal.idfStandard(LOW + i * STEP);
+            value[i] = x;
+            slope[i] = STEP * SQRT2PI * Math.exp(0.5 * x * x);
+        }
+    }
+
+    @Override
+    public double idfStandard(double u) {
+        if (u < LOW || u > HIGH) {
+            return As241InverseNormal.idfStandard(u);
+        }
+        double position = (u - LOW) * INV_STEP;
+        int i = Math.min((int) position, CELLS - 1);
+        double t = position - i;
+        double y0 = value[i];
+        double y1 = value[i + 1];
+        double m0 = slope[i];
+        double m1 = slope[i + 1];
+        // cubic Hermite in Horner form: y0 + t*(m0 + t*(c2 + t*c3))
+        double d = y1 - y0;
+        double c2 = 3.0 * d - 2.0 * m0 - m1;
+        double c3 = m0 + m1 - 2.0 * d;
+        return y0 + t * (m0 + t * (c2 + t * c3));
+    }
+}
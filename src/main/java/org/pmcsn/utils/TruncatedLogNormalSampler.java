@@ -0,0 +1,46 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.RngStream;
+import org.pmcsn.libraries.Rvms;
+
+/*
+ * Lognormal truncated to (0, truncationPoint], sampled by inversion. Everything that
+ * depends only on the parameters (a, b and the cdf values at the truncation
+ * points) is computed once here, so a draw is one uniform plus one idfLogNormal.
+ * With the NEWTON inverse normal, the default of the three-argument constructor,
+ * the draws are bit-identical to the original Distributions.truncatedLogNormal;
+ * centers pass the one general.inverseNormal selects.
+ */
+public class TruncatedLogNormalSampler {
+    private final InverseNormal inverseNormal;
+    private final double a;
+    private final double b;
+    // the uniform is drawn in [alpha, upper), upper = 1 - beta
+    private final double alpha;
+    private final double upper;
+
+    public TruncatedLogNormalSampler(double mu, double sigma, double truncationPoint) {
+        this(mu, sigma, truncationPoint, InverseNormal.create(InverseNormal.Type.NEWTON));
+    }
+
+    public TruncatedLogNormalSampler(double mu, double sigma, double truncationPoint, InverseNormal inverseNormal) {
+        Rvms rvms = new Rvms();
+        this.inverseNormal = inverseNormal;
+        // Calculate 'a' and 'b' based on the given mean and variance
+        double variance = sigma * sigma;
+        this.b = Math.sqrt(Math.log(1 + (variance / (mu * mu))));
+        this.a = Math.log(mu) - 0.5 * b * b;
+        // Calculate alpha (CDF at the left tail)
+        this.alpha = rvms.cdfLogNormal(a, b, 1e-20);
+        // Calculate beta (1 - CDF at truncation point)
+        double beta = 1.0 - rvms.cdfLogNormal(a, b, truncationPoint);
+        this.upper = 1.0 - beta;
+    }
+
+    public double sample(RngStream stream) {
+        // same expression as Rvgs.uniform(alpha, 1 - beta)
+        double u = alpha + (upper - alpha) * stream.random();
+        // Rvms.idfLogNormal with a pluggable inverse normal
+        return Math.exp(a + b * inverseNormal.idfStandard(u));
+    }
+}
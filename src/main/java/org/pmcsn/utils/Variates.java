@@ -0,0 +1,42 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.RngStream;
+
+/*
+ * Exponential and normal variates drawn from a stream. Implementations:
+ *
+ *   INVERSION  Distributions.exponential (-m log(1 - u)) and Distributions.normal
+ *              (Odeh & Evans): exactly one uniform per variate, monotone in u, so
+ *              common-random-numbers comparisons stay synchronized. Reproduces the
+ *              historical results.
+ *   ZIGGURAT   Marsaglia & Tsang's ziggurat: one uniform and a table lookup for
+ *              about 99% of the variates, no log or sqrt. The number of uniforms
+ *              per variate varies, so streams drift apart across configurations.
+ */
+public interface Variates {
+    enum Type {
+        INVERSION,
+        ZIGGURAT
+    }
+
+    // m > 0.0
+    double exponential(double m, RngStream stream);
+
+    // s > 0.0
+    double normal(double m, double s, RngStream stream);
+
+    static Variates create(Type type) {
+        return switch (type) {
+            case INVERSION -> new Variates() {
+                public double exponential(double m, RngStream stream) {
+                    return Distributions.exponential(m, stream);
+                }
+
+                public double normal(double m, double s, RngStream stream) {
+                    return Distributions.normal(m, s, stream);
+                }
+            };
+            case ZIGGURAT -> Ziggurat.INSTANCE;
+        };
+    }
+}
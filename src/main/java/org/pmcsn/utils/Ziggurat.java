@@ -0,0 +1,113 @@
+package org.pmcsn.utils;
+
+import org.pmcsn.libraries.RngStream;
+
+/*
+ * Ziggurat samplers (G. Marsaglia, W. W. Tsang, "The Ziggurat Method for Generating
+ * Random Variables", Journal of Statistical Software 5(8), 2000), adapted to the
+ * double-valued streams of this project: a single uniform u selects the layer from
+ * its leading bits (and, for the normal, the sign from the next one) and uses the
+ * remaining fraction as the abscissa. With Rngs that fraction still has about 23
+ * bits of resolution.
+ *
+ * Layer i covers heights f(x[i]) .. f(x[i + 1]) and abscissas 0 .. x[i], every layer
+ * having the same area v; layer 0 is the base strip plus the tail beyond r = x[1],
+ * with x[0] = v / f(r) its virtual width.
+ */
+class Ziggurat implements Variates {
+    // exponential: 256 layers, f(x) = exp(-x)
+    private static final int EXP_LAYERS = 256;
+    private static final double EXP_R = 7.69711747013104972;
+    private static final double EXP_V = 3.949659822581572e-3;
+    // normal: 128 layers, f(x) = exp(-x^2 / 2)
+    private static final int NORMAL_LAYERS = 128;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+
+    private static final double[] EXP_X = new double[EXP_LAYERS + 1];
+    private static final double[] EXP_F = new double[EXP_LAYERS + 1];
+    private static final double[] NORMAL_X = new double[NORMAL_LAYERS + 1];
+    private static final double[] NORMAL_F = new double[NORMAL_LAYERS + 1];
+
+    static {
+        EXP_X[0] = EXP_V / Math.exp(-EXP_R);
+        EXP_X[1] = EXP_R;
+        for (int i = 1; i < EXP_LAYERS - 1; i++) {
+            EXP_X[i + 1] = -Math.log(EXP_V / EXP_X[i] + Math.exp(-EXP_X[i]));
+        }
+        EXP_X[EXP_LAYERS] = 0;
+        for (int i = 0; i <= EXP_LAYERS; i++) {
+            EXP_F[i] = Math.exp(-EXP_X[i]);
+        }
+
+        NORMAL_X[0] = NORMAL_V / Math.exp(-0.5 * NORMAL_R * NORMAL_R);
+        NORMAL_X[1] = NORMAL_R;
+        for (int i = 1; i < NORMAL_LAYERS - 1; i++) {
+            double f = NORMAL_V / NORMAL_X[i] + Math.exp(-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+            NORMAL_X[i + 1] = Math.sqrt(-2.0 * Math.log(f));
+        }
+        NORMAL_X[NORMAL_LAYERS] = 0;
+        for (int i = 0; i <= NORMAL_LAYERS; i++) {
+            NORMAL_F[i] = Math.exp(-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+        }
+    }
+
+    // declared after the tables it depends on
+    static final Ziggurat INSTANCE = new Ziggurat();
+
+    private Ziggurat() {}
+
+    @Override
+    public double exponential(double m, RngStream stream) {
+        return m * standardExponential(stream);
+    }
+
+    @Override
+    public double normal(double m, double s, RngStream stream) {
+        return m + s * standardNormal(stream);
+    }
+
+    static double standardExponential(RngStream stream) {
+        while (true) {
+            double u = stream.random() * EXP_LAYERS;
+            int i = (int) u;
+            double x = (u - i) * EXP_X[i];
+            if (x < EXP_X[i + 1]) {
+                return x;
+            }
+            if (i == 0) {
+                // memoryless tail beyond r
+                return EXP_R - Math.log(stream.random());
+            }
+            if (EXP_F[i] + stream.random() * (EXP_F[i + 1] - EXP_F[i]) < Math.exp(-x)) {
+                return x;
+            }
+        }
+    }
+
+    static double standardNormal(RngStream stream) {
+        while (true) {
+            double u = stream.random() * (2 * NORMAL_LAYERS);
+            int k = (int) u;
+            int i = k >> 1;
+            double sign = ((k & 1) == 0) ? 1.0 : -1.0;
+            double x = (u - k) * NORMAL_X[i];
+            if (x < NORMAL_X[i + 1]) {
+                return sign * x;
+            }
+            if (i == 0) {
+                // Marsaglia's tail algorithm beyond r
+                double t;
+                double y;
+                do {
+                    t = -Math.log(stream.random()) / NORMAL_R;
+                    y = -Math.log(stream.random());
+                } while (y + y < t * t);
+                return sign * (NORMAL_R + t);
+            }
+            if (NORMAL_F[i] + stream.random() * (NORMAL_F[i + 1] - NORMAL_F[i]) < Math.exp(-0.5 * x * x)) {
+                return sign * x;
+            }
+        }
+    }
+}